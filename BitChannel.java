@@ -0,0 +1,428 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A first-in-first-out channel of bits, packed 64 to a <code>long</code> word
+ * in a ring, from a single producing thread to a single consuming thread.
+ * Neither side takes a lock: the producer publishes how far it has written,
+ * and the consumer how far it has read, each with a single ordered write, and
+ * each side otherwise works only on what the other has published.  Bits are
+ * copied in and drained out a word at a time, and nothing is allocated per
+ * block once the ring is large enough.
+ *
+ * The two positions are counts of all bits ever written and read, kept far
+ * enough apart in memory that the two threads do not contend for a cache
+ * line.  The consumer reads the producer's position once per drain, taking
+ * everything published up to it in one batch.  The producer keeps its own
+ * copy of the consumer's position, and rereads the shared one only when the
+ * copy says that the ring is full.
+ *
+ * An unbounded channel grows its ring when the producer finds it full.  A
+ * bounded channel never grows; instead, the producer waits until the consumer
+ * has made room, pushing back on whatever is sending.  A producer so waiting
+ * gives up, dropping its block, once the consumer closes the channel or the
+ * producer's thread is interrupted.
+ *
+ * @file   BitChannel.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class BitChannel {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create an empty channel.
+     *
+     * @param  capacity The number of bits that the ring holds at first,
+     *                  rounded up to a power of two number of words.
+     * @param  bounded  Whether the ring must never grow, so that the producer
+     *                  waits for room instead.
+     * @throws RuntimeException if the capacity is not positive.
+     */
+    public BitChannel (int capacity, boolean bounded) {
+
+        if (capacity <= 0) {
+            throw new RuntimeException("Invalid channel capacity: " + capacity);
+        }
+
+        int wordCount = 1;
+        while (((long)wordCount << 6) < capacity) {
+            wordCount <<= 1;
+        }
+        words        = new long[wordCount];
+        this.bounded = bounded;
+
+    } // BitChannel ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the producer to append a block of bits.  Bit <i>i</i> of the
+     * block is bit <code>i % 64</code> of <code>source[i / 64]</code>.  If the
+     * ring is full, an unbounded channel grows it, and a bounded channel waits
+     * until the consumer has drained enough.
+     *
+     * @param  source   The bits to append, packed into words.
+     * @param  bitCount The number of bits to append.
+     * @return whether the block was appended; <code>false</code> if it was
+     *         dropped, the channel having been closed or the producer
+     *         interrupted while waiting for room.
+     * @throws RuntimeException if a bounded channel could never hold the
+     *                          block.
+     */
+    public boolean offer (long[] source, int bitCount) {
+
+        long tail = positions.getPlain(TAIL);
+        if (!makeRoom(tail, bitCount)) {
+            return false;
+        }
+
+        long[] ring = words;
+        long   mask = ((long)ring.length << 6) - 1;
+        for (int i = 0; bitCount > 0; i += 1) {
+            int n = Math.min(bitCount, Long.SIZE);
+            write(ring, tail & mask, source[i], n);
+            tail     += n;
+            bitCount -= n;
+        }
+
+        // Publish the bits, after they have all been written.
+        positions.setRelease(TAIL, tail);
+
+        return true;
+
+    } // offer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the consumer to move whole bytes, each sent most significant
+     * bit first, into an array.  Bits of a trailing partial byte stay in the
+     * channel until the rest of the byte arrives.  While the consumer's
+     * position falls on a byte boundary, each word of the ring yields eight
+     * bytes at once.
+     *
+     * @param  sink   The array into which to move the bytes.
+     * @param  offset The index in <code>sink</code> of the first byte.
+     * @param  max    The most bytes to move.
+     * @return the number of bytes moved.
+     */
+    public int drainBytes (byte[] sink, int offset, int max) {
+
+        long head  = positions.getPlain(HEAD);
+        long tail  = positions.getAcquire(TAIL);
+        int  count = (int)Math.min(max, (tail - head) >>> 3);
+        if (count == 0) {
+            return 0;
+        }
+
+        long[] ring = words;
+        long   mask = ((long)ring.length << 6) - 1;
+        int    end  = offset + count;
+        int    i    = offset;
+        while (i < end) {
+            int  bit  = (int)(head & (Long.SIZE - 1));
+            long word = ring[(int)((head & mask) >>> 6)];
+            if ((bit & (Byte.SIZE - 1)) == 0) {
+
+                // Reversing the word puts the first byte sent at the top, and
+                // each byte's first bit sent at the top of its byte.
+                long reversed = Long.reverse(word) << bit;
+                int  n        = Math.min(end - i, (Long.SIZE - bit) >>> 3);
+                for (int j = 0; j < n; j += 1) {
+                    sink[i + j] = (byte)(reversed >>> (Long.SIZE - Byte.SIZE));
+                    reversed  <<= Byte.SIZE;
+                }
+                i    += n;
+                head += n << 3;
+
+            } else {
+
+                // Off a byte boundary, a byte may straddle two words.
+                long bits = word >>> bit;
+                if (bit > Long.SIZE - Byte.SIZE) {
+                    long next = ring[(int)(((head + Long.SIZE - bit) & mask) >>> 6)];
+                    bits |= next << (Long.SIZE - bit);
+                }
+                sink[i] = (byte)(Integer.reverse((int)bits & 0xff) >>> 24);
+                i    += 1;
+                head += Byte.SIZE;
+
+            }
+        }
+
+        // Hand the drained space back to the producer.
+        positions.setRelease(HEAD, head);
+
+        return count;
+
+    } // drainBytes ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the consumer to take the next bit.
+     *
+     * @return the next bit, if any; <code>null</code> if none is published.
+     */
+    public Boolean poll () {
+
+        long head = positions.getPlain(HEAD);
+        if (head == positions.getAcquire(TAIL)) {
+            return null;
+        }
+
+        long[]  ring = words;
+        long    mask = ((long)ring.length << 6) - 1;
+        boolean bit  = ((ring[(int)((head & mask) >>> 6)] >>> (head & 63)) & 1) != 0;
+        positions.setRelease(HEAD, head + 1);
+
+        return bit;
+
+    } // poll ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether no bits are published but not yet consumed.  Exact only
+     *         on the consuming thread.
+     */
+    public boolean isEmpty () {
+
+        return positions.getAcquire(HEAD) == positions.getAcquire(TAIL);
+
+    } // isEmpty ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the consumer once it will drain no more, so that a producer
+     * waiting for room, or that later finds none, drops its block rather than
+     * wait forever.
+     */
+    public void close () {
+
+        closed = true;
+
+    } // close ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bits that the ring now holds.
+     */
+    public int capacity () {
+
+        return words.length << 6;
+
+    } // capacity ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the producer to be sure that the ring has room for a block
+     * after the given tail, growing it or waiting for the consumer as needed.
+     *
+     * @param  tail     The producer's position.
+     * @param  bitCount The number of bits to be appended.
+     * @return whether there is room; <code>false</code> if the channel was
+     *         closed, or the producer interrupted, while waiting for it.  An
+     *         interrupted producer's thread stays interrupted.
+     * @throws RuntimeException if a bounded channel could never hold the
+     *                          block.
+     */
+    private boolean makeRoom (long tail, int bitCount) {
+
+        // Trust the last head seen, if it leaves enough room.
+        long head = positions.getPlain(CACHED_HEAD);
+        if (tail + bitCount - head <= capacity()) {
+            return true;
+        }
+
+        head = positions.getAcquire(HEAD);
+        if (bounded) {
+            if (bitCount > capacity()) {
+                throw new RuntimeException("Block of " + bitCount +
+                                           " bits exceeds channel of " +
+                                           capacity());
+            }
+            while (tail + bitCount - head > capacity()) {
+                if (closed) {
+                    return false;
+                }
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                LockSupport.parkNanos(BACKPRESSURE_WAIT);
+                head = positions.getAcquire(HEAD);
+            }
+        } else if (tail + bitCount - head > capacity()) {
+            grow(head, tail, tail + bitCount - head);
+        }
+        positions.setPlain(CACHED_HEAD, head);
+
+        return true;
+
+    } // makeRoom ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the producer to replace the ring with a larger one, holding the
+     * same unconsumed bits at the same positions.  The consumer goes on reading
+     * the old ring, which is no longer written, until it sees a tail published
+     * after the new ring.
+     *
+     * @param head     The consumer's position, as last seen.
+     * @param tail     The producer's position.
+     * @param required The number of bits that must fit.
+     */
+    private void grow (long head, long tail, long required) {
+
+        long[] old     = words;
+        int    size    = old.length;
+        while (((long)size << 6) < required) {
+            size <<= 1;
+        }
+
+        // Copy whole words: a position lies at the same offset within its word
+        // in either ring.
+        long[] grown   = new long[size];
+        int    oldMask = old.length - 1;
+        int    newMask = size - 1;
+        if (tail > head) {
+            for (long w = head >>> 6; w <= (tail - 1) >>> 6; w += 1) {
+                grown[(int)(w & newMask)] = old[(int)(w & oldMask)];
+            }
+        }
+        words = grown;
+
+    } // grow ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Write up to 64 bits into a ring, starting at a position and spilling
+     * into the following word if needed.  Bits already in the affected words
+     * outside of those written are preserved.
+     *
+     * @param ring     The ring.
+     * @param position The position, within the ring, of the first bit.
+     * @param bits     The bits, the first in the least significant position.
+     * @param count    The number of bits.
+     */
+    private static void write (long[] ring, long position, long bits, int count) {
+
+        int  offset = (int)(position & (Long.SIZE - 1));
+        int  word   = (int)(position >>> 6);
+        int  n      = Math.min(count, Long.SIZE - offset);
+        long mask   = lowMask(n) << offset;
+        ring[word]  = (ring[word] & ~mask) | ((bits << offset) & mask);
+
+        if (n < count) {
+            int next    = (word + 1) & (ring.length - 1);
+            long rest   = lowMask(count - n);
+            ring[next]  = (ring[next] & ~rest) | ((bits >>> n) & rest);
+        }
+
+    } // write ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  n A number of bits, from <code>0</code> to <code>64</code>.
+     * @return a word whose lowest <code>n</code> bits are set.
+     */
+    private static long lowMask (int n) {
+
+        return (n == Long.SIZE) ? -1L : (1L << n) - 1;
+
+    } // lowMask ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The ring of bits.  Replaced only by the producer, when it grows. */
+    private volatile long[] words;
+
+    /** Whether the ring must never grow. */
+    private final boolean bounded;
+
+    /** Whether the consumer has stopped draining. */
+    private volatile boolean closed = false;
+
+    /** The positions of the two sides, each on its own cache lines: the
+     *  number of bits read, the number written, and the producer's copy of
+     *  the number read. */
+    private final AtomicLongArray positions = new AtomicLongArray(4 * PADDING);
+
+    /** The number of <code>long</code>s between positions, enough to span two
+     *  cache lines of 64 bytes, since some processors fetch lines in pairs. */
+    private static final int  PADDING           = 16;
+
+    /** The index of the consumer's position. */
+    private static final int  HEAD              = PADDING;
+
+    /** The index of the producer's position. */
+    private static final int  TAIL              = 2 * PADDING;
+
+    /** The index of the producer's copy of the consumer's position. */
+    private static final int  CACHED_HEAD       = 3 * PADDING;
+
+    /** How long the producer of a full, bounded channel waits before looking
+     *  again for room. */
+    private static final long BACKPRESSURE_WAIT = TimeUnit.MICROSECONDS.toNanos(20);
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class BitChannel
+// =============================================================================
@@ -0,0 +1,373 @@
+// =============================================================================
+// IMPORTS
+
+import java.nio.ByteBuffer;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A growable, first-in-first-out ring of primitive bytes.  Bytes are appended
+ * at the tail and removed from the head, either singly or in bulk, and any
+ * buffered byte may be examined by its index relative to the head without
+ * removing it.  Unlike a <code>Queue&lt;Byte&gt;</code>, no object is
+ * allocated per byte.
+ *
+ * @file   ByteRingBuffer.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class ByteRingBuffer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Default constructor.  Create an empty buffer with a small capacity.
+     */
+    public ByteRingBuffer () {
+
+        this(DEFAULT_CAPACITY);
+
+    } // ByteRingBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create an empty buffer that can hold at least the given number of bytes
+     * before it must grow.
+     *
+     * @param capacity The initial number of bytes to accomodate.
+     */
+    public ByteRingBuffer (int capacity) {
+
+        buffer = new byte[roundUpToPowerOfTwo(capacity)];
+        head   = 0;
+        size   = 0;
+
+    } // ByteRingBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes currently buffered.
+     */
+    public int size () {
+
+        return size;
+
+    } // size ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return <code>true</code> if no bytes are buffered; <code>false</code>
+     *         otherwise.
+     */
+    public boolean isEmpty () {
+
+        return size == 0;
+
+    } // isEmpty ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append a single byte to the tail of the buffer.
+     *
+     * @param b The byte to append.
+     */
+    public void put (byte b) {
+
+        ensureCapacity(size + 1);
+        buffer[(head + size) & (buffer.length - 1)] = b;
+        size += 1;
+
+    } // put ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append every byte of the given array to the tail of the buffer.
+     *
+     * @param data The bytes to append.
+     */
+    public void put (byte[] data) {
+
+        put(data, 0, data.length);
+
+    } // put ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append a range of bytes from the given array to the tail of the buffer.
+     *
+     * @param data   The array containing the bytes to append.
+     * @param offset The index in <code>data</code> of the first byte.
+     * @param length The number of bytes to append.
+     */
+    public void put (byte[] data, int offset, int length) {
+
+        ensureCapacity(size + length);
+
+        // Copy in at most two pieces: up to the end of the array, and then
+        // wrapping around to its beginning.
+        int tail  = (head + size) & (buffer.length - 1);
+        int first = Math.min(length, buffer.length - tail);
+        System.arraycopy(data, offset, buffer, tail, first);
+        System.arraycopy(data, offset + first, buffer, 0, length - first);
+        size += length;
+
+    } // put ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append the remaining bytes of the given buffer to the tail of this one,
+     * advancing its position past them.
+     *
+     * @param data The buffer holding the bytes to append.
+     */
+    public void put (ByteBuffer data) {
+
+        int length = data.remaining();
+        ensureCapacity(size + length);
+
+        int tail  = (head + size) & (buffer.length - 1);
+        int first = Math.min(length, buffer.length - tail);
+        data.get(buffer, tail, first);
+        data.get(buffer, 0, length - first);
+        size += length;
+
+    } // put ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove and return the byte at the head of the buffer.
+     *
+     * @return the oldest buffered byte.
+     * @throws RuntimeException if the buffer is empty.
+     */
+    public byte take () {
+
+        if (size == 0) {
+            throw new RuntimeException("Take from an empty buffer");
+        }
+
+        byte b = buffer[head];
+        head   = (head + 1) & (buffer.length - 1);
+        size  -= 1;
+
+        return b;
+
+    } // take ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove up to the given number of bytes from the head of the buffer,
+     * copying them into the given array.
+     *
+     * @param  dest   The array into which to copy the bytes.
+     * @param  offset The index in <code>dest</code> at which to copy.
+     * @param  length The maximum number of bytes to remove.
+     * @return the number of bytes actually removed.
+     */
+    public int take (byte[] dest, int offset, int length) {
+
+        int count = Math.min(length, size);
+        copyOut(0, dest, offset, count);
+        skip(count);
+
+        return count;
+
+    } // take ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Examine a buffered byte without removing it.
+     *
+     * @param  index The position of the byte, where <code>0</code> is the head.
+     * @return the byte at the given position.
+     * @throws RuntimeException if there is no byte at that position.
+     */
+    public byte peek (int index) {
+
+        if (index < 0 || index >= size) {
+            throw new RuntimeException("Peek beyond buffered bytes: " + index);
+        }
+
+        return buffer[(head + index) & (buffer.length - 1)];
+
+    } // peek ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Copy a range of buffered bytes into the given array without removing
+     * them.
+     *
+     * @param index  The position of the first byte to copy, where
+     *               <code>0</code> is the head.
+     * @param dest   The array into which to copy the bytes.
+     * @param offset The index in <code>dest</code> at which to copy.
+     * @param length The number of bytes to copy.
+     * @throws RuntimeException if fewer bytes are buffered than requested.
+     */
+    public void copyOut (int index, byte[] dest, int offset, int length) {
+
+        if (index < 0 || length < 0 || index + length > size) {
+            throw new RuntimeException("Copy beyond buffered bytes");
+        }
+
+        int start = (head + index) & (buffer.length - 1);
+        int first = Math.min(length, buffer.length - start);
+        System.arraycopy(buffer, start, dest, offset, first);
+        System.arraycopy(buffer, 0, dest, offset + first, length - first);
+
+    } // copyOut ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Discard bytes from the head of the buffer.
+     *
+     * @param count The number of bytes to discard.
+     * @throws RuntimeException if fewer bytes are buffered than requested.
+     */
+    public void skip (int count) {
+
+        if (count < 0 || count > size) {
+            throw new RuntimeException("Skip beyond buffered bytes: " + count);
+        }
+
+        head  = (head + count) & (buffer.length - 1);
+        size -= count;
+
+    } // skip ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Discard all buffered bytes.
+     */
+    public void clear () {
+
+        head = 0;
+        size = 0;
+
+    } // clear ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Grow the underlying array, if needed, so that it can hold the given
+     * number of bytes.  The buffered bytes are unwrapped to start at index
+     * <code>0</code> of the new array.
+     *
+     * @param required The number of bytes that must fit.
+     */
+    private void ensureCapacity (int required) {
+
+        if (required <= buffer.length) {
+            return;
+        }
+
+        byte[] grown = new byte[roundUpToPowerOfTwo(required)];
+        copyOut(0, grown, 0, size);
+        buffer = grown;
+        head   = 0;
+
+    } // ensureCapacity ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  n A requested capacity.
+     * @return the smallest power of two that is at least <code>n</code>.
+     * @throws RuntimeException if no such <code>int</code> exists.
+     */
+    private static int roundUpToPowerOfTwo (int n) {
+
+        if (n < 0 || n > MAXIMUM_CAPACITY) {
+            throw new RuntimeException("Buffer capacity too large: " + n);
+        }
+
+        return (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+
+    } // roundUpToPowerOfTwo ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The storage, whose length is always a power of two. */
+    private byte[] buffer;
+
+    /** The index in <code>buffer</code> of the oldest byte. */
+    private int    head;
+
+    /** The number of bytes buffered. */
+    private int    size;
+
+    /** The capacity of a buffer created without one being specified. */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /** The largest power-of-two capacity that an array may have. */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ByteRingBuffer
+// =============================================================================
@@ -0,0 +1,274 @@
+// =============================================================================
+/**
+ * A cyclic redundancy check over arrays of bytes.  The supported algorithms
+ * are:
+ * <ul>
+ *   <li><code>CRC16</code>: CRC-16-CCITT (polynomial <code>0x1021</code>,
+ *       initial value <code>0xFFFF</code>, unreflected);</li>
+ *   <li><code>CRC32</code>: the IEEE 802.3 CRC-32 (polynomial
+ *       <code>0x04C11DB7</code>, reflected);</li>
+ *   <li><code>CRC32C</code>: the Castagnoli CRC-32C (polynomial
+ *       <code>0x1EDC6F41</code>, reflected).</li>
+ * </ul>
+ * Each may be computed by one of several implementations:
+ * <ul>
+ *   <li><code>table</code>: one table lookup per byte;</li>
+ *   <li><code>slice8</code>: eight tables, consuming eight bytes per step;</li>
+ *   <li><code>zip</code>: <code>java.util.zip.CRC32</code> or
+ *       <code>java.util.zip.CRC32C</code>, which the JVM may accelerate in
+ *       hardware (32-bit algorithms only).</li>
+ * </ul>
+ * A check value may be computed over several ranges in turn, as though they
+ * were contiguous: <code>start()</code> gives the register, each
+ * <code>update()</code> shifts a range into it, and <code>finish()</code>
+ * turns it into the check value.  Some implementations keep the register
+ * themselves, so only one computation may be under way on a CRC at a time.
+ *
+ * @file   CRC.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public abstract class CRC {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the requested CRC and return it.
+     *
+     * @param  algorithm      The name of the algorithm.
+     * @param  implementation The name of the implementation.
+     * @return the newly created CRC.
+     * @throws RuntimeException if either name is unknown, or the
+     *                          implementation does not support the algorithm.
+     */
+    public static CRC create (String algorithm, String implementation) {
+
+        // Look up the parameters of the algorithm.
+        int     width;
+        int     polynomial;
+        int     initial;
+        boolean reflected;
+        int     finalXor;
+        if (algorithm.equalsIgnoreCase("CRC16")) {
+            width = 16; polynomial = 0x1021;     initial = 0xFFFF;
+            reflected = false; finalXor = 0;
+        } else if (algorithm.equalsIgnoreCase("CRC32")) {
+            width = 32; polynomial = 0x04C11DB7; initial = 0xFFFFFFFF;
+            reflected = true;  finalXor = 0xFFFFFFFF;
+        } else if (algorithm.equalsIgnoreCase("CRC32C")) {
+            width = 32; polynomial = 0x1EDC6F41; initial = 0xFFFFFFFF;
+            reflected = true;  finalXor = 0xFFFFFFFF;
+        } else {
+            throw new RuntimeException("Unknown CRC algorithm " + algorithm);
+        }
+
+        // Build the implementation.
+        if (implementation.equalsIgnoreCase("table")) {
+            return new TableCRC(width, polynomial, initial, reflected, finalXor);
+        } else if (implementation.equalsIgnoreCase("slice8")) {
+            return new SliceBy8CRC(width, polynomial, initial, reflected, finalXor);
+        } else if (implementation.equalsIgnoreCase("zip")) {
+            if (width != 32) {
+                throw new RuntimeException("No zip implementation of " +
+                                           algorithm);
+            }
+            return new ZipCRC(algorithm.equalsIgnoreCase("CRC32C"));
+        } else {
+            throw new RuntimeException("Unknown CRC implementation " +
+                                       implementation);
+        }
+
+    } // create ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bits in a check value.
+     */
+    public abstract int width ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the register with which to begin a computation.
+     */
+    public abstract int start ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Shift a range of bytes into a register.
+     *
+     * @param  crc    The register, as returned by <code>start()</code> or by
+     *                the last <code>update()</code> of this computation.
+     * @param  data   The array holding the bytes.
+     * @param  offset The index of the first byte.
+     * @param  length The number of bytes.
+     * @return the register.
+     */
+    public abstract int update (int crc, byte[] data, int offset, int length);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  crc The register, after the last of the bytes.
+     * @return the check value, in the low <code>width()</code> bits.
+     */
+    public abstract int finish (int crc);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Compute the check value of a range of bytes.
+     *
+     * @param  data   The array holding the bytes.
+     * @param  offset The index of the first byte.
+     * @param  length The number of bytes.
+     * @return the check value, in the low <code>width()</code> bits.
+     */
+    public int compute (byte[] data, int offset, int length) {
+
+        return finish(update(start(), data, offset, length));
+
+    } // compute ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Compute the check value of a frame's header followed by a range of
+     * bytes, as though they were contiguous, without joining them.
+     *
+     * @param  header The header.
+     * @param  data   The array holding the bytes.
+     * @param  offset The index of the first byte.
+     * @param  length The number of bytes.
+     * @return the check value, in the low <code>width()</code> bits.
+     */
+    public int compute (byte[] header, byte[] data, int offset, int length) {
+
+        int crc = update(start(), header, 0, header.length);
+
+        return finish(update(crc, data, offset, length));
+
+    } // compute ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes in a check value.
+     */
+    public int bytes () {
+
+        return width() / Byte.SIZE;
+
+    } // bytes ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Write a check value into an array, most significant byte first.
+     *
+     * @param value  The check value.
+     * @param dest   The array into which to write.
+     * @param offset The index at which to write.
+     */
+    public void write (int value, byte[] dest, int offset) {
+
+        for (int i = bytes() - 1; i >= 0; i -= 1) {
+            dest[offset + i] = (byte)value;
+            value >>>= Byte.SIZE;
+        }
+
+    } // write ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read a check value from an array, most significant byte first.
+     *
+     * @param  source The array from which to read.
+     * @param  offset The index at which to read.
+     * @return the check value.
+     */
+    public int read (byte[] source, int offset) {
+
+        int value = 0;
+        for (int i = 0; i < bytes(); i += 1) {
+            value = (value << Byte.SIZE) | (source[offset + i] & 0xff);
+        }
+
+        return value;
+
+    } // read ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Build the table of the check register after shifting in each possible
+     * byte value, for a table-driven implementation.
+     *
+     * @param  width      The number of bits in the register.
+     * @param  polynomial The generator polynomial, unreflected, without its
+     *                    leading term.
+     * @param  reflected  Whether bytes enter the register least significant
+     *                    bit first.
+     * @return the 256-entry table.
+     */
+    protected static int[] byteTable (int width, int polynomial, boolean reflected) {
+
+        int[] table = new int[256];
+        int   top   = 1 << (width - 1);
+        int   mask  = (width == 32) ? -1 : (1 << width) - 1;
+        int   poly  = reflected ? Integer.reverse(polynomial) >>> (32 - width)
+                                : polynomial;
+
+        for (int b = 0; b < 256; b += 1) {
+            int crc = reflected ? b : (b << (width - 8));
+            for (int i = 0; i < Byte.SIZE; i += 1) {
+                if (reflected) {
+                    crc = ((crc & 1) != 0) ? (crc >>> 1) ^ poly : (crc >>> 1);
+                } else {
+                    crc = ((crc & top) != 0) ? (crc << 1) ^ poly : (crc << 1);
+                }
+            }
+            table[b] = crc & mask;
+        }
+
+        return table;
+
+    } // byteTable ()
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class CRC
+// =============================================================================
@@ -0,0 +1,230 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.LinkedList;
+import java.util.Properties;
+import java.util.Queue;
+// =============================================================================
+
+
+// =============================================================================
+/**
+ * @file   CRCDataLinkLayer.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ *
+ * A data link layer that uses start/stop tags and byte packing to frame the
+ * data, and that performs error management with a cyclic redundancy check.
+ * It employs no flow control; damaged frames are dropped.
+ *
+ * The CRC algorithm is chosen by the <code>dll.crc</code> property
+ * (<code>CRC16</code>, <code>CRC32</code> or <code>CRC32C</code>; default
+ * <code>CRC32</code>), and its implementation by
+ * <code>dll.crcImplementation</code> (<code>table</code>,
+ * <code>slice8</code> or <code>zip</code>; default <code>slice8</code>).
+ *
+ * @see CRC
+ */
+public class CRCDataLinkLayer extends DataLinkLayer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Configure the layer, choosing its CRC.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected void configure (Properties properties) {
+
+        super.configure(properties);
+
+        crc = CRC.create(properties.getProperty(CRC_PROPERTY, "CRC32"),
+                         properties.getProperty(CRC_IMPLEMENTATION_PROPERTY,
+                                                "slice8"));
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed a raw sequence of bytes into a framed sequence.
+     *
+     * @param  data The raw sequence of bytes to be framed.
+     * @return A complete frame.
+     */
+    protected Queue<Byte> createFrame (Queue<Byte> data) {
+
+	// Gather the data into an array, followed by the check value of the
+	// header and the data.
+	int    length   = data.size();
+	byte[] contents = new byte[length + crc.bytes()];
+	int    i        = 0;
+	for (byte b : data) {
+	    contents[i] = b;
+	    i += 1;
+	}
+	crc.write(crc.compute(header(destination), contents, 0, length),
+		  contents, length);
+
+	// Begin with the start tag.
+	Queue<Byte> framingData = new LinkedList<Byte>();
+	framingData.add(startTag);
+
+	// Add each byte of data and of the check value.  Unlike a parity bit,
+	// a check value may contain bytes that look like tags.
+	for (byte currentByte : contents) {
+
+	    // If the current byte is itself a metadata tag, then precede it
+	    // with an escape tag.
+	    if ((currentByte == startTag) ||
+		(currentByte == stopTag) ||
+		(currentByte == escapeTag)) {
+
+		framingData.add(escapeTag);
+
+	    }
+
+	    // Add the byte itself.
+	    framingData.add(currentByte);
+
+	}
+
+	// End with a stop tag.
+	framingData.add(stopTag);
+
+	return framingData;
+
+    } // createFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether the received, buffered data constitutes a complete
+     * frame.  If so, then remove the framing metadata, verify the check value,
+     * and return the original data.  Note that any data preceding an escaped
+     * start tag is assumed to be part of a damaged frame, and is thus
+     * discarded.
+     *
+     * @return If the buffer contains a complete, undamaged frame, the
+     * extracted, original data; <code>null</code> otherwise.
+     */
+    protected Queue<Byte> processFrame () {
+
+	// Consume received bytes until a whole frame has been extracted.
+	if (!frameDecoder.decode(receiveBuffer)) {
+	    return null;
+	}
+	byte[] frame = frameDecoder.frame();
+	int    count = frameDecoder.length();
+
+	// The final bytes inside the frame are the check value of the header and
+	// the data.  Compare it to a recalculation.
+	int     length  = count - crc.bytes();
+	boolean damaged = (length < 0) ||
+	                  (crc.read(frame, length) !=
+	                   crc.compute(frameDecoder.header(), frame, 0, length));
+	frameReceived(frameDecoder.framedLength(), damaged);
+	if (damaged) {
+	    return null;
+	}
+
+	Queue<Byte> extractedBytes = new LinkedList<Byte>();
+	for (int i = 0; i < length; i += 1) {
+	    extractedBytes.add(frame[i]);
+	}
+
+	return extractedBytes;
+
+    } // processFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After sending a frame, do any bookkeeping (e.g., buffer the frame in case
+     * a resend is required).
+     *
+     * @param frame The framed data that was transmitted.
+     */
+    protected void finishFrameSend (Queue<Byte> frame) {
+
+        // No flow control.
+
+    } // finishFrameSend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After receiving a frame, do any bookkeeping (e.g., deliver the frame to
+     * the client, if appropriate) and responding (e.g., send an
+     * acknowledgment).
+     *
+     * @param frame The frame of bytes received.
+     */
+    protected void finishFrameReceive (Queue<Byte> frame) {
+
+        // Deliver frame to the client.
+        byte[] deliverable = new byte[frame.size()];
+        for (int i = 0; i < deliverable.length; i += 1) {
+            deliverable[i] = frame.remove();
+        }
+
+        client.receive(deliverable);
+
+    } // finishFrameReceive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether a timeout should occur and be processed.  This method
+     * is called regularly in the event loop, and should check whether too much
+     * time has passed since some kind of response is expected.
+     */
+    protected void checkTimeout () {
+
+        // No flow control.
+
+    } // checkTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The CRC used to check each frame. */
+    private CRC crc;
+
+    /** The start tag. */
+    private final byte startTag  = (byte)'{';
+
+    /** The stop tag. */
+    private final byte stopTag   = (byte)'}';
+
+    /** The escape tag. */
+    private final byte escapeTag = (byte)'\\';
+
+    /** The property naming the CRC algorithm. */
+    public static final String CRC_PROPERTY                = "dll.crc";
+
+    /** The property naming the CRC implementation. */
+    public static final String CRC_IMPLEMENTATION_PROPERTY = "dll.crcImplementation";
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class CRCDataLinkLayer
+// =============================================================================
@@ -0,0 +1,218 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.Properties;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+// =============================================================================
+
+
+// =============================================================================
+/**
+ * @file   CSMACDDataLinkLayer.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ *
+ * A data link layer for a medium shared by many hosts, using carrier sense
+ * multiple access with collision detection.  Frames are checked with a CRC, as
+ * in <code>CRCDataLinkLayer</code>, and, like every frame, carry the addresses
+ * of their destination and source, so that a layer delivers only frames
+ * addressed to it or broadcast.
+ *
+ * The layer sends only when it senses no carrier, and as soon as the medium
+ * falls idle (1-persistent).  If a frame collides, the layer waits a random
+ * number of slots, chosen by truncated binary exponential backoff, and then
+ * sends it again, giving up after <code>MAX_ATTEMPTS</code> tries.  There are
+ * no acknowledgements: a frame that does not collide is taken to have arrived,
+ * and the data of a frame given up on is lost, as counted by
+ * <code>abandonedFrames()</code>.
+ * On a medium that does not detect collisions, every frame is taken to have
+ * arrived as soon as it is sent.
+ *
+ * Besides the addresses read by every layer, the layer reads
+ * <code>dll.slotTime</code>, the backoff slot in microseconds (default 1000).
+ * Backoffs are drawn from a generator seeded, like the media's noise, by
+ * <code>medium.seed</code>, if given, and then by the layer's address, so that
+ * a seeded run in virtual time is repeatable, while each host still backs off
+ * differently.
+ *
+ * @see SharedBusMedium
+ */
+public class CSMACDDataLinkLayer extends CRCDataLinkLayer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Configure the layer, reading its slot time and seeding its backoffs.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected void configure (Properties properties) {
+
+        super.configure(properties);
+
+        int slot = intProperty(properties, SLOT_TIME_PROPERTY, 1000);
+        if (slot <= 0) {
+            throw new RuntimeException("Invalid CSMA/CD slot: " + slot);
+        }
+        slotNanos = TimeUnit.MICROSECONDS.toNanos(slot);
+        random    = new SplittableRandom(Medium.createRandom(properties).nextLong() +
+                                         address);
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a new frame only when no other frame is being sent or awaiting a
+     * resend, and no carrier is sensed.
+     *
+     * @return the frame of bytes transmitted, if any.
+     */
+    protected Queue<Byte> sendNextFrame () {
+
+        if (pending != null || physicalLayer.carrierSensed()) {
+            return null;
+        }
+
+        return super.sendNextFrame();
+
+    } // sendNextFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Hold onto the frame just sent until the medium reports that it was
+     * carried.
+     *
+     * @param frame The framed data that was transmitted.
+     */
+    protected void finishFrameSend (Queue<Byte> frame) {
+
+        if (!physicalLayer.detectsCollisions()) {
+            return;
+        }
+
+        pending      = frame;
+        transmitting = true;
+        attempts     = 1;
+
+    } // finishFrameSend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Learn how the pending frame's transmission ended, backing off if it
+     * collided; and once a backoff is over and the medium is idle, send it
+     * again.
+     */
+    protected void checkTimeout () {
+
+        Boolean outcome = physicalLayer.transmissionOutcome();
+        if (outcome != null && transmitting) {
+            transmitting = false;
+            if (outcome) {
+                pending = null;
+            } else if (attempts == MAX_ATTEMPTS) {
+                frameAbandoned();
+                pending = null;
+            } else {
+                int exponent = Math.min(attempts, MAX_BACKOFF_EXPONENT);
+                int slots    = random.nextInt(1 << exponent);
+                timers.reschedule(backoff, slots * slotNanos);
+            }
+        }
+
+        if (readyToResend() && !physicalLayer.carrierSensed()) {
+            retransmit(pending);
+            transmitting  = true;
+            attempts     += 1;
+        }
+
+    } // checkTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Wait for the next timeout, or, if there is a frame to send but a
+     * carrier is sensed, only until the medium falls idle.
+     *
+     * @return the number of nanoseconds until the loop should next run.
+     */
+    protected long nanosUntilTimeout () {
+
+        long delay = super.nanosUntilTimeout();
+        if (readyToResend() || (pending == null && hasDataToSend())) {
+            delay = Math.min(delay, Math.max(1, physicalLayer.nanosUntilIdle()));
+        }
+
+        return delay;
+
+    } // nanosUntilTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether the pending frame has collided and finished backing
+     *         off.
+     */
+    private boolean readyToResend () {
+
+        return pending != null && !transmitting && !backoff.isPending();
+
+    } // readyToResend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The length of a backoff slot, in nanoseconds. */
+    private long slotNanos;
+
+    /** The frame being sent, until it is carried or given up on. */
+    private Queue<Byte> pending;
+
+    /** Whether the pending frame is on the medium. */
+    private boolean transmitting;
+
+    /** The number of times that the pending frame has been sent. */
+    private int attempts;
+
+    /** The end of the backoff after a collision.  Firing it does nothing
+     *  itself; it only wakes the event loop to resend. */
+    private final TimerWheel.Timeout backoff = timers.newTimeout(() -> {});
+
+    /** The source of backoff choices. */
+    private SplittableRandom random;
+
+    /** The number of times a frame is sent before it is given up on. */
+    public static final int    MAX_ATTEMPTS         = 16;
+
+    /** The most by which a backoff doubles. */
+    public static final int    MAX_BACKOFF_EXPONENT = 10;
+
+    /** The property giving the backoff slot, in microseconds. */
+    public static final String SLOT_TIME_PROPERTY   = "dll.slotTime";
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class CSMACDDataLinkLayer
+// =============================================================================
@@ -0,0 +1,261 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.ArrayDeque;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A first-in-first-out buffer of primitive bytes, stored in a list of
+ * fixed-size chunks, that may be filled by one thread while it is emptied by
+ * another.  Bytes are appended and removed in bulk, with
+ * <code>System.arraycopy()</code>; appending never moves the bytes already
+ * buffered, as growing a single array would, so the buffer needs little more
+ * than its contents in memory however large they become.  A chunk that has
+ * been emptied is kept for reuse, so a buffer that is drained as fast as it is
+ * filled allocates nothing once running.
+ *
+ * @file   ChunkedByteBuffer.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class ChunkedByteBuffer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Default constructor.  Create an empty buffer with the default chunk size.
+     */
+    public ChunkedByteBuffer () {
+
+        this(DEFAULT_CHUNK_SIZE);
+
+    } // ChunkedByteBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create an empty buffer.
+     *
+     * @param  chunkSize The number of bytes in each chunk.
+     * @throws RuntimeException if the chunk size is not positive.
+     */
+    public ChunkedByteBuffer (int chunkSize) {
+
+        if (chunkSize <= 0) {
+            throw new RuntimeException("Invalid chunk size: " + chunkSize);
+        }
+
+        this.chunkSize = chunkSize;
+        this.chunks    = new ArrayDeque<byte[]>();
+
+    } // ChunkedByteBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes currently buffered.
+     */
+    public synchronized long size () {
+
+        return size;
+
+    } // size ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether no bytes are buffered.
+     */
+    public synchronized boolean isEmpty () {
+
+        return size == 0;
+
+    } // isEmpty ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append all of the given bytes at the tail of the buffer.
+     *
+     * @param data The bytes to append.
+     */
+    public void put (byte[] data) {
+
+        put(data, 0, data.length);
+
+    } // put ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append a range of the given bytes at the tail of the buffer, filling
+     * the last chunk and then as many new ones as needed.
+     *
+     * @param data   The array holding the bytes to append.
+     * @param offset The index in <code>data</code> of the first byte.
+     * @param length The number of bytes to append.
+     */
+    public synchronized void put (byte[] data, int offset, int length) {
+
+        while (length > 0) {
+            if (chunks.isEmpty() || tail == chunkSize) {
+                chunks.addLast(newChunk());
+                tail = 0;
+            }
+            int n = Math.min(length, chunkSize - tail);
+            System.arraycopy(data, offset, chunks.peekLast(), tail, n);
+            tail   += n;
+            offset += n;
+            length -= n;
+            size   += n;
+        }
+
+    } // put ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove up to the given number of bytes from the head of the buffer,
+     * copying them into the given array.
+     *
+     * @param  dest   The array into which to copy the bytes.
+     * @param  offset The index in <code>dest</code> at which to copy.
+     * @param  length The maximum number of bytes to remove.
+     * @return the number of bytes actually removed.
+     */
+    public synchronized int take (byte[] dest, int offset, int length) {
+
+        int count = (int)Math.min(length, size);
+        int moved = 0;
+        while (moved < count) {
+
+            // The last chunk is filled only up to the tail.
+            byte[] chunk = chunks.peekFirst();
+            int    end   = (chunks.size() == 1) ? tail : chunkSize;
+            int    n     = Math.min(count - moved, end - head);
+            System.arraycopy(chunk, head, dest, offset + moved, n);
+            head  += n;
+            moved += n;
+
+            // Recycle a chunk once it has been emptied.
+            if (head == chunkSize) {
+                spare = chunks.removeFirst();
+                head  = 0;
+            }
+
+        }
+        size -= count;
+
+        // An emptied buffer starts its last chunk over.
+        if (size == 0 && !chunks.isEmpty()) {
+            spare = chunks.removeFirst();
+            head  = 0;
+            tail  = 0;
+        }
+
+        return count;
+
+    } // take ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Remove every buffered byte.
+     *
+     * @return the bytes removed, in order.
+     * @throws RuntimeException if more bytes are buffered than an array can
+     *                          hold.
+     */
+    public synchronized byte[] takeAll () {
+
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new RuntimeException("Too many bytes buffered: " + size);
+        }
+
+        byte[] all = new byte[(int)size];
+        take(all, 0, all.length);
+
+        return all;
+
+    } // takeAll ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return an empty chunk, reusing the spare if there is one.
+     */
+    private byte[] newChunk () {
+
+        byte[] chunk = spare;
+        spare = null;
+
+        return (chunk != null) ? chunk : new byte[chunkSize];
+
+    } // newChunk ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The number of bytes in each chunk. */
+    private final int                chunkSize;
+
+    /** The chunks holding buffered bytes, oldest first. */
+    private final ArrayDeque<byte[]> chunks;
+
+    /** The index in the first chunk of the oldest byte. */
+    private int                      head;
+
+    /** The index in the last chunk just past the newest byte. */
+    private int                      tail;
+
+    /** The number of bytes buffered. */
+    private long                     size;
+
+    /** An emptied chunk kept for reuse, if any. */
+    private byte[]                   spare;
+
+    /** The number of bytes in each chunk, unless specified otherwise. */
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ChunkedByteBuffer
+// =============================================================================
@@ -0,0 +1,49 @@
+// =============================================================================
+/**
+ * The source of time for a medium and the layers connected to it.  This clock
+ * reads the system's, so that a simulation runs in real time, with a thread
+ * for each host; a <code>Simulation</code> instead keeps virtual time of its
+ * own, and runs every host on the one thread that drives it.
+ *
+ * @file   Clock.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ * @see    Simulation
+ */
+public class Clock {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the current time, in nanoseconds from an arbitrary origin, as by
+     *         <code>System.nanoTime()</code>.
+     */
+    public long nanoTime () {
+
+        return System.nanoTime();
+
+    } // nanoTime ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The clock that reads the system's time. */
+    public static final Clock SYSTEM = new Clock();
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class Clock
+// =============================================================================
@@ -1,9 +1,12 @@
 // =============================================================================
 // IMPORTS
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.locks.LockSupport;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 // =============================================================================
@@ -34,7 +37,8 @@ public abstract class DataLinkLayer {
 
     // =========================================================================
     /**
-     * Create the requested data link layer type and return it.
+     * Create the requested data link layer type, configured by the system
+     * properties, and return it.
      *
      * @param  type          The subclass of which to create an instance.
      * @param  physicalLayer The physical layer by which to communicate.
@@ -48,6 +52,34 @@ public abstract class DataLinkLayer {
 					PhysicalLayer physicalLayer,
 					Host          host) {
 
+	return create(type, physicalLayer, host, System.getProperties());
+
+    } // create ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the requested data link layer type, configured by the given
+     * properties, and return it.
+     *
+     * @param  type          The subclass of which to create an instance.
+     * @param  physicalLayer The physical layer by which to communicate.
+     * @param  host          The host for which this layer is communicating.
+     * @param  properties    The configuration of the layer.
+     * @return The newly created data link layer.
+     * @throws RuntimeException if the given type is not a valid subclass, if
+     *                          the given physical layer doesn't exist (is
+     *                          <code>null</code>), or if the configuration is
+     *                          invalid.
+     * @see    configure(Properties)
+     */
+    public static DataLinkLayer create (String        type,
+					PhysicalLayer physicalLayer,
+					Host          host,
+					Properties    properties) {
+
 	if (physicalLayer == null) {
 	    throw new RuntimeException("Null physical layer");
 	}
@@ -81,6 +113,16 @@ public abstract class DataLinkLayer {
 	}
 
 
+	// Take time from the medium, and let a simulation run the event loop.
+	Clock clock = physicalLayer.clock();
+	dataLinkLayer.timers.useClock(clock);
+	if (clock instanceof Simulation) {
+	    dataLinkLayer.simulation = (Simulation)clock;
+	}
+
+	// Configure it.
+	dataLinkLayer.configure(properties);
+
 	// Register this new data link layer with the physical layer.
 	dataLinkLayer.physicalLayer = physicalLayer;
 	physicalLayer.register(dataLinkLayer);
@@ -100,9 +142,18 @@ public abstract class DataLinkLayer {
     public DataLinkLayer () {
 
 	// Create incoming buffer space.
-	bitBuffer     = new LinkedList<Boolean>();
-	receiveBuffer = new LinkedList<Byte>();
-	sendBuffer    = new LinkedList<Byte>();
+	receivedBytes = new byte[RECEIVE_BATCH];
+	receiveBuffer = new ByteRingBuffer();
+	sendBuffer    = new ByteRingBuffer();
+
+	// Create the decoder that extracts frames from the received bytes.
+	frameDecoder  = new FrameDecoder(START_TAG, STOP_TAG, ESCAPE_TAG, address);
+
+	// Create the scheduler for timeouts.
+	timers        = new TimerWheel();
+
+	// Use the default frame size until configured otherwise.
+	frameSizer    = new FrameSizer(MAX_FRAME_SIZE);
         
     } // DataLinkLayer ()
     // =========================================================================
@@ -110,6 +161,82 @@ public abstract class DataLinkLayer {
 
 
 
+    // =========================================================================
+    /**
+     * Configure this layer from a set of properties.  Called once by
+     * <code>create()</code>, before the layer is used.  Subclasses with
+     * settings of their own should override this method, calling it first.
+     * This layer reads:
+     * <ul>
+     *   <li><code>dll.frameSize</code>: the number of data bytes per frame,
+     *       or the initial number if adaptive
+     *       (default <code>MAX_FRAME_SIZE</code>);</li>
+     *   <li><code>dll.adaptiveFrameSize</code>: whether to adapt the frame
+     *       size to the observed bit error rate (default
+     *       <code>false</code>), only for layers that acknowledge frames,
+     *       from whose fates the sender learns;</li>
+     *   <li><code>dll.minFrameSize</code> and <code>dll.maxFrameSize</code>:
+     *       the bounds on an adaptive frame size (default <code>1</code> and
+     *       <code>1024</code>);</li>
+     *   <li><code>dll.address</code>: this layer's address (default
+     *       <code>0</code>);</li>
+     *   <li><code>dll.destination</code>: the address to which this layer
+     *       sends its data (default <code>BROADCAST</code>);</li>
+     *   <li><code>dll.sendCapacity</code>: the most bytes that clients may
+     *       have sent but this layer not yet framed before sending blocks, or
+     *       <code>0</code> for no limit (default <code>0</code>).  In a
+     *       simulation, which has only the one thread, there is no
+     *       limit.</li>
+     * </ul>
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     * @see    FrameSizer
+     */
+    protected void configure (Properties properties) {
+
+	int     size     = intProperty(properties, FRAME_SIZE_PROPERTY,
+				       MAX_FRAME_SIZE);
+	boolean adaptive = booleanProperty(properties, ADAPTIVE_FRAME_SIZE_PROPERTY,
+					   false);
+	if (adaptive && !acknowledges()) {
+	    throw new RuntimeException(getClass().getName() + " sends no " +
+				       "acknowledgements, so cannot adapt " +
+				       "its frame size");
+	}
+	if (adaptive) {
+	    frameSizer = new FrameSizer(size,
+					intProperty(properties,
+						    MIN_FRAME_SIZE_PROPERTY, 1),
+					intProperty(properties,
+						    MAX_FRAME_SIZE_PROPERTY, 1024),
+					true);
+	} else {
+	    frameSizer = new FrameSizer(size);
+	}
+
+	address     = intProperty(properties, ADDRESS_PROPERTY, 0);
+	destination = intProperty(properties, DESTINATION_PROPERTY, BROADCAST);
+	if (address < 0 || address >= BROADCAST ||
+	    destination < 0 || destination > BROADCAST) {
+	    throw new RuntimeException("Invalid addresses: address " + address +
+				       ", destination " + destination);
+	}
+	frameDecoder = new FrameDecoder(START_TAG, STOP_TAG, ESCAPE_TAG, address);
+
+	sendCapacity = intProperty(properties, SEND_CAPACITY_PROPERTY, 0);
+	if (sendCapacity < 0) {
+	    throw new RuntimeException("Invalid send capacity: " + sendCapacity);
+	}
+	if (simulation != null) {
+	    sendCapacity = 0;
+	}
+
+    } // configure ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Allow a host to register as the client of this data link layer.
@@ -133,78 +260,352 @@ public abstract class DataLinkLayer {
 
     // =========================================================================
     /**
-     * The event loop.  If there is buffered data to send, frame and transmit
-     * it; if bits are received, process and deliver them one frame at a time.
+     * The event loop.  Step through passes of the loop until stopped.  When a
+     * pass accomplishes nothing, the thread parks until it is woken by
+     * arriving bits or newly sent data, or until the next timeout is due.
+     *
+     * @see step()
+     * @see wakeUp()
      */
     public void go () {
 
         // Event loop.
+        eventLoopThread = Thread.currentThread();
         doEventLoop = true;
         while (doEventLoop) {
 
-            // If there is buffered data to send, then frame and send it.
-            if (sendBuffer.peek() != null) {
-                Queue<Byte> framedData = sendNextFrame();
-                if (framedData != null) {
-                    finishFrameSend(framedData);  // remember a frame was sent and hold onto it until acknowledgement arrives
+            boolean busy = step();
+
+            // With nothing to do, wait for bits, data, or the next timeout.
+            if (!busy && doEventLoop) {
+                long delay = nanosUntilTimeout();
+                if (delay == Long.MAX_VALUE) {
+                    LockSupport.park(this);
+                } else if (delay > 0) {
+                    LockSupport.parkNanos(this, delay);
                 }
             }
 
-            // If there are received buffered bits, process them.
-            receive();
+        } // Event loop
 
-            // If there are received buffered bytes, try to process a frame.
-            if (receiveBuffer.peek() != null) {
-                Queue<Byte> receivedFrame = processFrame();
-                if (receivedFrame != null) {
-                    finishFrameReceive(receivedFrame);     // if this is a frame, give to host & send acknowledgement   
-                }
+    } // go ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * A single pass through the event loop.  If there is buffered data to
+     * send, frame and transmit it; if bits are received, process and deliver
+     * them one frame at a time; and fire any timeouts that are due.  Run by
+     * <code>go()</code> on a thread of the layer's own, or by a
+     * <code>Simulation</code>.
+     *
+     * @return whether the pass changed anything, so that another might too.
+     */
+    public boolean step () {
+
+        // Track whether this pass changes anything; if not, there is no point
+        // in looping again until something external happens.
+        boolean busy = false;
+
+        // If there is buffered data to send, then frame and send it.
+        if (hasDataToSend()) {
+            Queue<Byte> framedData = sendNextFrame();
+            if (framedData != null) {
+                finishFrameSend(framedData);  // remember a frame was sent and hold onto it until acknowledgement arrives
+                busy = true;
             }
+        }
 
-	    // Check whether a timeout action needs to be taken.
-	    checkTimeout();
+        // If there are received buffered bits, process them.
+        receive();
+
+        // If there are received buffered bytes, try to process a frame.
+        // Consuming bytes, even as a damaged frame, may leave another whole
+        // frame to process.
+        if (!receiveBuffer.isEmpty()) {
+            int         buffered      = receiveBuffer.size();
+            Queue<Byte> receivedFrame = processFrame();
+            if (receivedFrame != null) {
+                finishFrameReceive(receivedFrame);     // if this is a frame, give to host & send acknowledgement   
+            }
+            busy |= (receivedFrame != null) || (receiveBuffer.size() != buffered);
+        }
 
-        } // Event loop
+	// Fire any scheduled timeouts that are due, then check whether any
+	// other timeout action needs to be taken.
+	busy |= (timers.expire() > 0);
+	checkTimeout();
 
-    } // go ()
+        return busy;
+
+    } // step ()
     // =========================================================================
 
 
 
     // =========================================================================
     /**
-     * End the event loop.
+     * End the event loop, and stop the physical layer from sending.
      */
     public void stop () {
 
+        synchronized (sendBuffer) {
+            stopped = true;
+            sendBuffer.notifyAll();
+        }
         doEventLoop = false;
+        wakeUp();
+        if (physicalLayer != null) {
+            physicalLayer.stop();
+        }
 
     } // stop ()
     // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Wake the event loop if it is parked.  Expected to be called whenever
+     * there is new work for it: bits arriving at the physical layer, or data
+     * being sent by the client.  Waking a loop that is not parked causes its
+     * next attempt to park to return immediately.  In a simulation, schedule
+     * a run of the loop instead.
+     */
+    public void wakeUp () {
+
+        if (simulation != null) {
+            simulation.wake(this);
+            return;
+        }
+
+        Thread thread = eventLoopThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+
+    } // wakeUp ()
+    // =========================================================================
     
 
 
     // =========================================================================
     /**
      * Send a sequence of bytes through the physical layer.  Expected to be
-     * called by the client.  Buffers the data; actual sending is triggered by
-     * the event loop.
+     * called by the client, from any number of threads.  Buffers the data;
+     * actual sending is triggered by the event loop.  If the buffer holds as
+     * much as it may, block until the event loop has framed enough of it.
      *
      * @param data The sequence of bytes to send.
+     * @throws RuntimeException if the layer is stopped, or the calling thread
+     *                          is interrupted, while waiting.
      * @see   go()
      */
     public void send (byte[] data) {
 
-	// Add each byte to the sending buffer.
-	for (int i = 0; data != null && i < data.length; i += 1) {
-	    sendBuffer.add(data[i]);
+	if (data == null) {
+	    wakeUp();
+	    return;
 	}
+	send(data, 0, data.length);
 	
     }
     // =========================================================================
 
 
 
+    // =========================================================================
+    /**
+     * Send a range of bytes from an array, blocking while the buffer is full.
+     * The bytes are buffered together, never mixed with those of another
+     * thread's send.
+     *
+     * @param data   The array holding the bytes to send.
+     * @param offset The index in <code>data</code> of the first byte.
+     * @param length The number of bytes to send.
+     * @throws RuntimeException if the layer is stopped, or the calling thread
+     *                          is interrupted, while waiting.
+     */
+    public void send (byte[] data, int offset, int length) {
+
+	synchronized (sendBuffer) {
+	    awaitRoom(length, true);
+	    sendBuffer.put(data, offset, length);
+	}
+	wakeUp();
+
+    } // send ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send the remaining bytes of a buffer, blocking while the buffer of data
+     * to send is full.  The buffer's position is advanced past them.
+     *
+     * @param data The buffer holding the bytes to send.
+     * @throws RuntimeException if the layer is stopped, or the calling thread
+     *                          is interrupted, while waiting.
+     */
+    public void send (ByteBuffer data) {
+
+	synchronized (sendBuffer) {
+	    awaitRoom(data.remaining(), true);
+	    sendBuffer.put(data);
+	}
+	wakeUp();
+
+    } // send ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a range of bytes from an array if there is room to buffer them
+     * now, without blocking.
+     *
+     * @param  data   The array holding the bytes to send.
+     * @param  offset The index in <code>data</code> of the first byte.
+     * @param  length The number of bytes to send.
+     * @return whether the bytes were buffered.
+     * @throws RuntimeException if the layer is stopped.
+     */
+    public boolean offer (byte[] data, int offset, int length) {
+
+	synchronized (sendBuffer) {
+	    if (!awaitRoom(length, false)) {
+		return false;
+	    }
+	    sendBuffer.put(data, offset, length);
+	}
+	wakeUp();
+
+	return true;
+
+    } // offer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes sent by the client but not yet framed, so
+     *         that a client streaming its data can send more as this falls.
+     */
+    public int backlog () {
+
+	synchronized (sendBuffer) {
+	    return sendBuffer.size();
+	}
+
+    } // backlog ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether this layer has nothing left to send: no data waiting to
+     *         be framed, and no frame waiting to be acknowledged.  Layers
+     *         that resend unacknowledged frames add the second test.  May be
+     *         called from any thread, and then may be out of date.
+     */
+    public boolean idle () {
+
+	return backlog() == 0;
+
+    } // idle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether this layer's frames are acknowledged, so that its frame
+     *         sizer learns whether the frames that it sends arrive, and the
+     *         frame size may adapt.  Layers that acknowledge frames say so.
+     */
+    protected boolean acknowledges () {
+
+	return false;
+
+    } // acknowledges ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames of new data sent so far, not counting
+     *         retransmissions or acknowledgements.
+     */
+    public long framesSent () {
+
+        return framesSent;
+
+    } // framesSent ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames retransmitted so far.
+     */
+    public long retransmissions () {
+
+        return retransmissions;
+
+    } // retransmissions ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames received so far that were found to be
+     *         damaged, including those whose headers were damaged.
+     */
+    public long damagedFrames () {
+
+        return damagedFrames + frameDecoder.damagedHeaders();
+
+    } // damagedFrames ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames given up on so far without their having
+     *         been delivered, whose data is therefore lost.
+     */
+    public long abandonedFrames () {
+
+        return abandonedFrames;
+
+    } // abandonedFrames ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether the client has sent data not yet framed.
+     */
+    protected boolean hasDataToSend () {
+
+	return backlog() > 0;
+
+    } // hasDataToSend ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Extract the next frame-worth of data from the sending buffer, frame it,
@@ -214,22 +615,33 @@ public abstract class DataLinkLayer {
      */
     protected Queue<Byte> sendNextFrame () {
 
-        if (sendBuffer.isEmpty()) {
+        if (!hasDataToSend()) {
             return null;
         }
         
-	// Extract a frame-worth of data from the sending buffer.
-	int frameSize = ((sendBuffer.size() < MAX_FRAME_SIZE)
-			 ? sendBuffer.size()
-			 : MAX_FRAME_SIZE);
-	Queue<Byte> data = new LinkedList<Byte>();
-	for (int j = 0; j < frameSize; j += 1) {
-	    data.add(sendBuffer.remove());
+	// Extract a frame-worth of data from the sending buffer, which the
+	// client may be adding to, in one copy; the lock is held for no more.
+	byte[] slice;
+	synchronized (sendBuffer) {
+	    slice = new byte[Math.min(sendBuffer.size(), frameSizer.frameSize())];
+	    sendBuffer.take(slice, 0, slice.length);
+	    if (sendCapacity > 0) {
+		sendBuffer.notifyAll();
+	    }
+	}
+	int         frameSize = slice.length;
+	Queue<Byte> data      = new LinkedList<Byte>();
+	for (byte b : slice) {
+	    data.add(b);
 	}
 
 	// Create a frame from the data and transmit it.
 	Queue<Byte> framedData = createFrame(data);
 	transmit(framedData);
+	frameSizer.frameSent(frameSize,
+			     framedData.size() + FrameDecoder.HEADER_LENGTH);
+	framesSent += 1;
+	Trace.record(Trace.Event.FRAME_SENT, address, frameSize);
 
         return framedData;
 
@@ -240,27 +652,61 @@ public abstract class DataLinkLayer {
 
     // =========================================================================
     /**
-     * Transmit a sequence of bytes as bits.
+     * Transmit a frame to this layer's destination.
      *
-     * @param data The sequence of bytes to send.
+     * @param data The frame to send.
+     * @see   transmit(Queue, int)
      */
     protected void transmit (Queue<Byte> data) {
 
-	for (byte b : data) {
+	transmit(data, destination);
+
+    } // transmit ()
+    // =========================================================================
 
-	    // Transmit one bit at a time, most to least significant.
-	    for (int i = Byte.SIZE - 1; i >= 0; i -= 1) {
 
-		// Grab the current bit...
-		boolean bit = ((1 << i) & b) != 0;
 
-		// ...and send it.
-		physicalLayer.send(bit);
+    // =========================================================================
+    /**
+     * Transmit a frame to the given address, as bits.  The frame's header of
+     * destination and source bytes, escaped as needed, is inserted just after
+     * its start tag.
+     *
+     * @param data The frame to send, beginning with its start tag.
+     * @param to   The address to which to send it.
+     * @see   FrameDecoder
+     */
+    protected void transmit (Queue<Byte> data, int to) {
 
+	byte[] header = header(to);
+	int    size   = data.size() + header.length;
+	for (byte b : header) {
+	    if (isTag(b)) {
+		size += 1;
 	    }
+	}
 
+	// Pack the bits of each byte, most to least significant, into words,
+	// where the first bit sent is the least significant bit of a word.
+	long[] words = new long[(size + 7) >>> 3];
+	int    bit   = 0;
+	boolean first = true;
+	for (byte b : data) {
+	    bit = pack(words, bit, b);
+	    if (first) {
+		first = false;
+		for (byte h : header) {
+		    if (isTag(h)) {
+			bit = pack(words, bit, ESCAPE_TAG);
+		    }
+		    bit = pack(words, bit, h);
+		}
+	    }
 	}
 
+	// Send the whole block at once.
+	physicalLayer.sendBits(words, bit);
+
     } // transmit ()
     // =========================================================================
 
@@ -268,41 +714,112 @@ public abstract class DataLinkLayer {
 
     // =========================================================================
     /**
-     * Deliver a bit into this layer.  Expected to be called by the physical
-     * layer.  Accumulate bits into a buffer, and with each full byte received,
-     * accumulate those bits into a byte buffer.  Each byte added to the buffer
-     * is examined to determine whether a whole frame has been received, and if
-     * so, then processed.
+     * @param  to The address to which a frame is to be sent.
+     * @return the header that <code>transmit()</code> will give the frame,
+     *         which its frame check should cover along with its contents.
+     */
+    protected byte[] header (int to) {
+
+	return FrameDecoder.header(to, address);
+
+    } // header ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  header   The header of a frame.
+     * @param  contents The contents of the frame.
+     * @return a new queue of the header followed by the contents, for a frame
+     *         check computed over a queue to cover both.
+     */
+    protected static Queue<Byte> withHeader (byte[] header, Queue<Byte> contents) {
+
+	Queue<Byte> covered = new LinkedList<Byte>();
+	for (byte b : header) {
+	    covered.add(b);
+	}
+	covered.addAll(contents);
+
+	return covered;
+
+    } // withHeader ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Transmit a frame again, after it has gone unacknowledged.
      *
-     * @param bit The value to receive, where <code>false</code> indicates a
-     *            <code>0</code>, and <code>true</code> indicates a
-     *            <code>1</code>.
+     * @param frame The frame to resend.
      */
-    public void receive () {
+    protected void retransmit (Queue<Byte> frame) {
 
-        // Transfer any available bits in the physical layer into our buffer.
-        Boolean bit = null;
-        while ((bit = physicalLayer.retrieve()) != null) {
-            bitBuffer.add(bit);
-        }
+	transmit(frame);
+	retransmissions += 1;
+	Trace.record(Trace.Event.FRAME_RESENT, address);
 
-	// If there are whole bytes of bits buffered, then transfer them to the
-	// byte buffer.
-	while (bitBuffer.size() >= Byte.SIZE) {
+    } // retransmit ()
+    // =========================================================================
 
-	    // Build up one byte from the bits...
-	    byte newByte = 0;
-	    for (int i = 0; i < Byte.SIZE; i += 1) {
-		bit = bitBuffer.remove();
-		newByte = (byte)((newByte << 1) | (bit ? 1 : 0));
-	    }
 
-	    // ...and add it to the byte buffer.
-	    receiveBuffer.add(newByte);
-	    if (debug) {
-		System.out.printf("DataLinkLayer.receive(): Got new byte = %c\n",
-				  newByte);
-	    }
+
+    // =========================================================================
+    /**
+     * Record that a whole frame was extracted from the received bytes.
+     * Expected to be called by <code>processFrame()</code> once it has
+     * checked the frame.
+     *
+     * @param framedLength The number of bytes in the frame as received.
+     * @param damaged      Whether the frame was found to be damaged.
+     */
+    protected void frameReceived (int framedLength, boolean damaged) {
+
+	Trace.record(Trace.Event.FRAME_DECODED, address, framedLength);
+	if (damaged) {
+	    damagedFrames += 1;
+	    Trace.record(Trace.Event.FRAME_DAMAGED, address);
+	}
+	frameSizer.frameReceived(framedLength, damaged);
+
+    } // frameReceived ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Record that a frame was given up on, so that its data will never be
+     * delivered.
+     */
+    protected void frameAbandoned () {
+
+	abandonedFrames += 1;
+	Trace.record(Trace.Event.FRAME_ABANDONED, address);
+
+    } // frameAbandoned ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Move the bits that the physical layer has received into the byte
+     * buffer, as whole bytes, where <code>processFrame()</code> will look for
+     * frames.  Called by the event loop.
+     */
+    public void receive () {
+
+	// Transfer whole bytes from the physical layer into the byte buffer, a
+	// batch at a time; any partial byte waits there for its remaining bits.
+	int count;
+	while ((count = physicalLayer.drainTo(receivedBytes, 0,
+					      receivedBytes.length)) > 0) {
+
+	    receiveBuffer.put(receivedBytes, 0, count);
+	    Trace.record(Trace.Event.BYTES_RECEIVED, address, count);
 
 	}
 
@@ -370,6 +887,197 @@ public abstract class DataLinkLayer {
      */
     abstract protected void checkTimeout ();
     // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the source address of the frame most recently extracted.
+     */
+    protected int source () {
+
+        return frameDecoder.source();
+
+    } // source ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Wait, if need be and allowed, until the buffer of data to send has room
+     * for a number of bytes.  There is room if the buffer is unbounded, or
+     * empty, or would not overflow; so that a send larger than the capacity
+     * waits only for the buffer to empty.  Called holding the buffer's lock.
+     *
+     * @param  length The number of bytes to buffer.
+     * @param  block  Whether to wait.
+     * @return whether there is room.
+     * @throws RuntimeException if the layer is stopped, or the calling thread
+     *                          is interrupted, while waiting.
+     */
+    private boolean awaitRoom (int length, boolean block) {
+
+	while (true) {
+	    if (stopped) {
+		throw new RuntimeException("Send to a stopped data link layer");
+	    }
+	    if (sendCapacity == 0 || sendBuffer.isEmpty() ||
+		sendBuffer.size() + length <= sendCapacity) {
+		return true;
+	    }
+	    if (!block) {
+		return false;
+	    }
+	    try {
+		sendBuffer.wait();
+	    } catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new RuntimeException("Interrupted while sending");
+	    }
+	}
+
+    } // awaitRoom ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  b A byte.
+     * @return whether the byte is one of the tags, and so must be escaped
+     *         within a frame.
+     */
+    private static boolean isTag (byte b) {
+
+	return b == START_TAG || b == STOP_TAG || b == ESCAPE_TAG;
+
+    } // isTag ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Pack the bits of a byte, most significant first, into words.
+     *
+     * @param  words The words.
+     * @param  bit   The index of the next bit to set.
+     * @param  b     The byte.
+     * @return the index of the bit after the byte.
+     */
+    private static int pack (long[] words, int bit, byte b) {
+
+	long reversed = Integer.reverse(b & 0xff) >>> 24;
+	words[bit >>> 6] |= reversed << (bit & 63);
+
+	return bit + Byte.SIZE;
+
+    } // pack ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read an integer setting.
+     *
+     * @param  properties   The configuration.
+     * @param  key          The name of the setting.
+     * @param  defaultValue The value if the setting is absent.
+     * @return the value of the setting.
+     * @throws RuntimeException if the setting is not an integer.
+     */
+    protected static int intProperty (Properties properties,
+				      String     key,
+				      int        defaultValue) {
+
+	String value = properties.getProperty(key);
+	if (value == null) {
+	    return defaultValue;
+	}
+
+	try {
+	    return Integer.parseInt(value.trim());
+	} catch (NumberFormatException e) {
+	    throw new RuntimeException("Invalid integer for " + key + ": " +
+				       value);
+	}
+
+    } // intProperty ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read a floating-point setting.
+     *
+     * @param  properties   The configuration.
+     * @param  key          The name of the setting.
+     * @param  defaultValue The value if the setting is absent.
+     * @return the value of the setting.
+     * @throws RuntimeException if the setting is not a number.
+     */
+    protected static double doubleProperty (Properties properties,
+					    String     key,
+					    double     defaultValue) {
+
+	String value = properties.getProperty(key);
+	if (value == null) {
+	    return defaultValue;
+	}
+
+	try {
+	    return Double.parseDouble(value.trim());
+	} catch (NumberFormatException e) {
+	    throw new RuntimeException("Invalid number for " + key + ": " +
+				       value);
+	}
+
+    } // doubleProperty ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read a boolean setting.
+     *
+     * @param  properties   The configuration.
+     * @param  key          The name of the setting.
+     * @param  defaultValue The value if the setting is absent.
+     * @return the value of the setting.
+     */
+    protected static boolean booleanProperty (Properties properties,
+					      String     key,
+					      boolean    defaultValue) {
+
+	String value = properties.getProperty(key);
+	return (value == null) ? defaultValue : Boolean.parseBoolean(value.trim());
+
+    } // booleanProperty ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine how long the event loop may wait before a timeout will next
+     * need to be taken.  By default, this is the time until the earliest
+     * timeout scheduled with <code>timers</code>; subclasses whose
+     * <code>checkTimeout()</code> tracks time itself should override it.
+     *
+     * @return the number of nanoseconds until the earliest pending timeout,
+     *         which may be zero or negative if it is already due; or
+     *         <code>Long.MAX_VALUE</code> if no timeout is pending.
+     */
+    protected long nanosUntilTimeout () {
+
+        return timers.nanosUntilNextExpiry();
+
+    } // nanosUntilTimeout ()
+    // =========================================================================
     
 
 
@@ -382,17 +1090,61 @@ public abstract class DataLinkLayer {
     /** The host that is using this layer. */
     protected Host           client;
 
-    /** The buffer of bits recently received, building up the current byte. */
-    protected Queue<Boolean> bitBuffer;
+    /** Scratch space for bytes moved from the physical layer. */
+    private byte[]           receivedBytes;
 
     /** The buffer of bytes recently received, building up the current frame. */
-    protected Queue<Byte>    receiveBuffer;
+    protected ByteRingBuffer receiveBuffer;
+
+    /** The buffer of data yet to be sent.  Filled by clients' threads, so
+     *  locked while it is filled or emptied, and waited on by clients for
+     *  room. */
+    protected ByteRingBuffer sendBuffer;
+
+    /** The most bytes that the send buffer holds before sends block, or 0
+     *  for no limit. */
+    private int              sendCapacity;
 
-    /** The buffer of data yet to be sent. */
-    protected Queue<Byte>    sendBuffer;
+    /** Whether the layer has been stopped, so that sends fail.  Guarded by
+     *  the send buffer's lock. */
+    private boolean          stopped;
+
+    /** The decoder of frames from the received bytes. */
+    protected FrameDecoder   frameDecoder;
+
+    /** The scheduler of timeouts, fired by the event loop when due. */
+    protected TimerWheel     timers;
+
+    /** The chooser of how many data bytes to send in each frame. */
+    protected FrameSizer     frameSizer;
+
+    /** This layer's address. */
+    protected int            address     = 0;
+
+    /** The address to which this layer sends its data. */
+    protected int            destination = BROADCAST;
 
     /** Whether to continue the event loop. */
-    private   boolean        doEventLoop;
+    private volatile boolean doEventLoop;
+
+    /** The thread running the event loop, to be unparked when work arrives. */
+    private volatile Thread  eventLoopThread;
+
+    /** The simulation running the event loop instead, if any. */
+    private Simulation       simulation;
+
+    /** The number of frames of new data sent.  Counted only by the event
+     *  loop, but may be read from any thread, as are the counts below. */
+    private volatile long    framesSent;
+
+    /** The number of frames retransmitted. */
+    private volatile long    retransmissions;
+
+    /** The number of damaged frames received. */
+    private volatile long    damagedFrames;
+
+    /** The number of frames given up on. */
+    private volatile long    abandonedFrames;
     // =========================================================================
 
 
@@ -400,11 +1152,45 @@ public abstract class DataLinkLayer {
     // =========================================================================
     // CLASS DATA MEMBERS
 
-    /** The maximum number of original data bytes that a frame may contain. */
+    /** The number of original data bytes that a frame contains, unless
+     *  configured otherwise. */
     public static final int     MAX_FRAME_SIZE   = 8;
 
-    /** Whether to emit debugging information. */
-    public static final boolean debug            = false;
+    /** The address to which a frame is sent for every layer. */
+    public static final int     BROADCAST        = 0xff;
+
+    /** The most bytes moved from the physical layer at once. */
+    private static final int    RECEIVE_BATCH    = 1024;
+
+    /** The tag that begins a frame. */
+    public static final byte    START_TAG        = (byte)'{';
+
+    /** The tag that ends a frame. */
+    public static final byte    STOP_TAG         = (byte)'}';
+
+    /** The tag that makes the next byte of a frame literal data. */
+    public static final byte    ESCAPE_TAG       = (byte)'\\';
+
+    /** The property giving this layer's address. */
+    public static final String  ADDRESS_PROPERTY             = "dll.address";
+
+    /** The property giving the address to which this layer sends. */
+    public static final String  DESTINATION_PROPERTY         = "dll.destination";
+
+    /** The property giving the number of data bytes per frame. */
+    public static final String  FRAME_SIZE_PROPERTY          = "dll.frameSize";
+
+    /** The property enabling adaptive frame sizing. */
+    public static final String  ADAPTIVE_FRAME_SIZE_PROPERTY = "dll.adaptiveFrameSize";
+
+    /** The property giving the smallest adaptive frame size. */
+    public static final String  MIN_FRAME_SIZE_PROPERTY      = "dll.minFrameSize";
+
+    /** The property giving the largest adaptive frame size. */
+    public static final String  MAX_FRAME_SIZE_PROPERTY      = "dll.maxFrameSize";
+
+    /** The property giving the most unframed bytes before sends block. */
+    public static final String  SEND_CAPACITY_PROPERTY       = "dll.sendCapacity";
     // =========================================================================
 
 
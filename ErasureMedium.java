@@ -0,0 +1,239 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Properties;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A medium that loses data.  Each bit of each receiver's copy of a block is
+ * erased with a given probability.  Since the receivers have no way to mark a
+ * bit as missing, and drain their bits a byte at a time, the receiver loses
+ * the whole byte holding an erased bit, as a serial port drops a character
+ * with a framing error; the bytes after it arrive one place early, but still
+ * on byte boundaries.  A frame that loses a byte is thus shortened, not just
+ * damaged, and a lost tag merges or splits frames.  Bytes are counted from
+ * the start of each block, as frames are sent.
+ *
+ * The medium reads <code>medium.erasureRate</code>, the probability that a bit
+ * is erased (default 0.001); and, as other noisy media do,
+ * <code>medium.seed</code> and <code>medium.geometricNoise</code>, which here
+ * choose which bits are erased rather than flipped.  Erased bits are traced
+ * as the noise flips them, as flipped bits.
+ *
+ * @file   ErasureMedium.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ * @see    Medium#createNoise(Properties, double)
+ */
+public class ErasureMedium extends Medium {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read the erasure rate.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected void configure (Properties properties) {
+
+	erasure = createNoise(properties, ERASURE_RATE_PROPERTY,
+			      DEFAULT_ERASURE_RATE);
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Register the given client, giving it erasures of its own for what it
+     * sends.
+     *
+     * @param client The physical layer of a stack to connect to this medium.
+     */
+    public void register (PhysicalLayer client) {
+
+	super.register(client);
+	if (!senderErasure.containsKey(client)) {
+	    senderErasure.put(client, erasure.split());
+	}
+
+    } // register ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a single bit, as a block of one.
+     *
+     * @param sender The client physical layer sending the bit.
+     * @param bit The value to be sent, where <code>false</code> sends a
+     *            <code>0</code> bit, and <code>true</code> sends a
+     *            <code>1</code> bit.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, boolean bit) {
+
+	transmit(sender, new long[] { bit ? 1L : 0L }, 1);
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a block of bits from one client to the other clients, each copy
+     * missing whichever of its bytes hold erased bits.
+     *
+     * @param sender   The client physical layer sending the bits.
+     * @param words    The bits to be sent, packed into words.
+     * @param bitCount The number of bits to send.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, long[] words, int bitCount) {
+
+	// Only registered clients may send.
+	if (!clients.contains(sender)) {
+	    throw new RuntimeException("Unregistered sender on the medium");
+	}
+
+	Noise  noise = senderErasure.get(sender);
+	long[] none  = new long[words.length];
+	for (PhysicalLayer receiver : clients) {
+	    if (receiver == sender) {
+		continue;
+	    }
+
+	    // Mark the erased bits by flipping them in a block of zeroes; if
+	    // none are, the block goes as it is.
+	    long[] erased = noise.damage(none, bitCount);
+	    if (erased == none) {
+		receiver.receive(words, bitCount);
+		continue;
+	    }
+
+	    long[] kept  = new long[words.length];
+	    int    count = keep(words, erased, bitCount, kept);
+	    if (count > 0) {
+		receiver.receive(kept, count);
+	    }
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Copy the bytes of a block that hold no erased bits, in order and packed
+     * together.  Words with no erased bits are copied whole.
+     *
+     * @param  words    The bits, packed into words.
+     * @param  erased   The erased bits, set in the same positions.
+     * @param  bitCount The number of bits.
+     * @param  kept     The array, no shorter than <code>words</code> and
+     *                  cleared, into which to pack the bits kept.
+     * @return the number of bits kept.
+     */
+    private static int keep (long[] words, long[] erased, int bitCount,
+			     long[] kept) {
+
+	int count = 0;
+	for (int w = 0; w << 6 < bitCount; w += 1) {
+	    int n = Math.min(Long.SIZE, bitCount - (w << 6));
+	    if (erased[w] == 0) {
+		append(kept, count, words[w], n);
+		count += n;
+		continue;
+	    }
+	    for (int i = 0; i < n; i += Byte.SIZE) {
+		int m = Math.min(Byte.SIZE, n - i);
+		if (((erased[w] >>> i) & 0xff) == 0) {
+		    append(kept, count, words[w] >>> i, m);
+		    count += m;
+		}
+	    }
+	}
+
+	return count;
+
+    } // keep ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Write up to 64 bits into cleared space in an array, starting at a
+     * position and spilling into the following word if needed.
+     *
+     * @param words    The array.
+     * @param position The position of the first bit.
+     * @param bits     The bits, the first in the least significant position.
+     * @param count    The number of bits.
+     */
+    private static void append (long[] words, int position, long bits, int count) {
+
+	if (count < Long.SIZE) {
+	    bits &= (1L << count) - 1;
+	}
+	int offset = position & (Long.SIZE - 1);
+	words[position >>> 6] |= bits << offset;
+	if (offset > 0 && offset + count > Long.SIZE) {
+	    words[(position >>> 6) + 1] |= bits >>> (Long.SIZE - offset);
+	}
+
+    } // append ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The erasures from which each sender's is split. */
+    private Noise erasure = createNoise(new Properties(), ERASURE_RATE_PROPERTY,
+					DEFAULT_ERASURE_RATE);
+
+    /** The erasures of each sender's bits.  Filled as clients register,
+     *  before any sends, and only read thereafter. */
+    private final Map<PhysicalLayer, Noise> senderErasure =
+	new IdentityHashMap<PhysicalLayer, Noise>();
+
+    /** The property giving the probability that a bit is lost. */
+    public static final String ERASURE_RATE_PROPERTY = "medium.erasureRate";
+
+    /** The probability that a bit is lost, unless configured otherwise. */
+    public static final double DEFAULT_ERASURE_RATE  = 0.001;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ErasureMedium
+// =============================================================================
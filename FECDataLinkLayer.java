@@ -0,0 +1,258 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.LinkedList;
+import java.util.Properties;
+import java.util.Queue;
+// =============================================================================
+
+
+// =============================================================================
+/**
+ * @file   FECDataLinkLayer.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ *
+ * A data link layer that uses forward error correction, so that a damaged frame
+ * can be repaired by its receiver rather than resent.  The contents of each
+ * frame (a two-byte length, the data, and a CRC-16 check value) are encoded
+ * with an extended Hamming code, which corrects one flipped bit in each
+ * codeword, and the result is framed with start/stop tags and byte packing.
+ * The check value catches the rare codeword with three or more flipped bits
+ * that the code would miscorrect.  It employs no flow control; frames that
+ * cannot be corrected are dropped.
+ *
+ * A flipped bit that creates or destroys a tag still breaks the framing, and
+ * so loses the frame; only damage within the encoded contents is corrected.
+ *
+ * The code rate is chosen by the <code>dll.fecCodewordBits</code> property:
+ * 8 (rate 1/2; the default), 16 (rate 11/16), 32 (rate 26/32) or 64 (rate
+ * 57/64).  Longer codewords cost less but tolerate fewer flipped bits.
+ *
+ * @see HammingCode
+ */
+public class FECDataLinkLayer extends DataLinkLayer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Configure the layer, choosing its code, and checking that no frame
+     * could hold more data than its length field can count.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected void configure (Properties properties) {
+
+        super.configure(properties);
+        int largest = Math.max(frameSizer.maximum(),
+                               intProperty(properties, MAX_FRAME_SIZE_PROPERTY, 0));
+        if (largest > MAX_LENGTH) {
+            throw new RuntimeException("Frame size " + largest +
+                                       " exceeds the largest length, " +
+                                       MAX_LENGTH);
+        }
+
+        code = new HammingCode(intProperty(properties, CODEWORD_BITS_PROPERTY, 8));
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed a raw sequence of bytes into a framed sequence.
+     *
+     * @param  data The raw sequence of bytes to be framed.
+     * @return A complete frame.
+     */
+    protected Queue<Byte> createFrame (Queue<Byte> data) {
+
+	// Gather the length and the data into an array, followed by the check
+	// value of the header, the length and the data, and encode the lot.
+	int    length   = data.size();
+	byte[] contents = new byte[LENGTH_BYTES + length + crc.bytes()];
+	contents[0] = (byte)(length >>> Byte.SIZE);
+	contents[1] = (byte)length;
+	int    i        = LENGTH_BYTES;
+	for (byte b : data) {
+	    contents[i] = b;
+	    i += 1;
+	}
+	crc.write(crc.compute(header(destination), contents, 0, i), contents, i);
+	byte[] encoded  = code.encode(contents, 0, contents.length);
+
+	// Begin with the start tag.
+	Queue<Byte> framingData = new LinkedList<Byte>();
+	framingData.add(startTag);
+
+	// Add each encoded byte.
+	for (byte currentByte : encoded) {
+
+	    // If the current byte is itself a metadata tag, then precede it
+	    // with an escape tag.
+	    if ((currentByte == startTag) ||
+		(currentByte == stopTag) ||
+		(currentByte == escapeTag)) {
+
+		framingData.add(escapeTag);
+
+	    }
+
+	    // Add the byte itself.
+	    framingData.add(currentByte);
+
+	}
+
+	// End with a stop tag.
+	framingData.add(stopTag);
+
+	return framingData;
+
+    } // createFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether the received, buffered data constitutes a complete
+     * frame.  If so, then remove the framing metadata, decode the contents,
+     * correcting them if need be, verify the check value, and return the
+     * original data.  Note that any data preceding an escaped start tag is
+     * assumed to be part of a damaged frame, and is thus discarded.
+     *
+     * @return If the buffer contains a complete frame that is undamaged or can
+     * be corrected, the extracted, original data; <code>null</code> otherwise.
+     */
+    protected Queue<Byte> processFrame () {
+
+	// Consume received bytes until a whole frame has been extracted.
+	if (!frameDecoder.decode(receiveBuffer)) {
+	    return null;
+	}
+	byte[] frame = frameDecoder.frame();
+	int    count = frameDecoder.length();
+
+	// Decode and correct the contents, then check the length and the check
+	// value.  The final codeword may carry padding beyond the contents.
+	byte[]  contents  = new byte[count * code.dataBits() / code.codewordBits()];
+	int     corrected = code.decode(frame, 0, count, contents);
+	int     length    = (contents.length < LENGTH_BYTES) ? -1 :
+	                    ((contents[0] & 0xff) << Byte.SIZE) | (contents[1] & 0xff);
+	int     checked   = LENGTH_BYTES + length;
+	boolean damaged   = (corrected < 0) ||
+	                    (length < 0) ||
+	                    (checked + crc.bytes() > contents.length) ||
+	                    (crc.read(contents, checked) !=
+	                     crc.compute(frameDecoder.header(), contents, 0, checked));
+	frameReceived(frameDecoder.framedLength(), damaged);
+	if (damaged) {
+	    return null;
+	}
+	if (corrected > 0) {
+	    Trace.record(Trace.Event.BITS_CORRECTED, address, corrected);
+	}
+
+	Queue<Byte> extractedBytes = new LinkedList<Byte>();
+	for (int i = LENGTH_BYTES; i < checked; i += 1) {
+	    extractedBytes.add(contents[i]);
+	}
+
+	return extractedBytes;
+
+    } // processFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After sending a frame, do any bookkeeping (e.g., buffer the frame in case
+     * a resend is required).
+     *
+     * @param frame The framed data that was transmitted.
+     */
+    protected void finishFrameSend (Queue<Byte> frame) {
+
+        // No flow control.
+
+    } // finishFrameSend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After receiving a frame, do any bookkeeping (e.g., deliver the frame to
+     * the client, if appropriate) and responding (e.g., send an
+     * acknowledgment).
+     *
+     * @param frame The frame of bytes received.
+     */
+    protected void finishFrameReceive (Queue<Byte> frame) {
+
+        // Deliver frame to the client.
+        byte[] deliverable = new byte[frame.size()];
+        for (int i = 0; i < deliverable.length; i += 1) {
+            deliverable[i] = frame.remove();
+        }
+
+        client.receive(deliverable);
+
+    } // finishFrameReceive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether a timeout should occur and be processed.  This method
+     * is called regularly in the event loop, and should check whether too much
+     * time has passed since some kind of response is expected.
+     */
+    protected void checkTimeout () {
+
+        // No flow control.
+
+    } // checkTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The code that protects each frame's contents. */
+    private HammingCode code;
+
+    /** The check value that catches miscorrected frames. */
+    private final CRC crc = CRC.create("CRC16", "table");
+
+    /** The start tag. */
+    private final byte startTag  = (byte)'{';
+
+    /** The stop tag. */
+    private final byte stopTag   = (byte)'}';
+
+    /** The escape tag. */
+    private final byte escapeTag = (byte)'\\';
+
+    /** The number of bytes that give the data length within a frame. */
+    private static final int LENGTH_BYTES = 2;
+
+    /** The largest data length that the length field can hold. */
+    private static final int MAX_LENGTH   = (1 << (LENGTH_BYTES * Byte.SIZE)) - 1;
+
+    /** The property giving the number of bits in each codeword. */
+    public static final String CODEWORD_BITS_PROPERTY = "dll.fecCodewordBits";
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class FECDataLinkLayer
+// =============================================================================
@@ -0,0 +1,395 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.Arrays;
+// =============================================================================
+
+
+// =============================================================================
+/**
+ * Extracts frames delimited by start/stop tags, with byte packing, from a
+ * stream of received bytes.  The decoder consumes each byte as it reads it and
+ * remembers where it is in the current frame (outside a frame, inside one, or
+ * just after an escape tag) between calls, so that a frame arriving piecemeal
+ * is read exactly once, however many calls it takes.
+ *
+ * As before, bytes preceding a start tag are discarded, and an unescaped start
+ * tag inside a frame means that what precedes it was damaged, so extraction
+ * restarts.
+ *
+ * Each frame begins with a header of its destination address and its source
+ * address.  The header has no check of its own: each layer's frame check
+ * covers it, as given by <code>header()</code>, along with the contents.  Once
+ * the header has been read, a frame addressed neither to this decoder's
+ * address nor to the broadcast address, or claiming to come from the
+ * broadcast address, is skipped up to its stop tag without its contents being
+ * kept.
+ *
+ * @file   FrameDecoder.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class FrameDecoder {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a decoder for the given tags and address.
+     *
+     * @param startTag  The byte that begins a frame.
+     * @param stopTag   The byte that ends a frame.
+     * @param escapeTag The byte that makes the next byte literal data.
+     * @param address   The address whose frames to extract.
+     */
+    public FrameDecoder (byte startTag, byte stopTag, byte escapeTag, int address) {
+
+        this.startTag  = startTag;
+        this.stopTag   = stopTag;
+        this.escapeTag = escapeTag;
+        this.address   = address;
+
+    } // FrameDecoder ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Consume received bytes until a frame is complete or the bytes run out.
+     *
+     * @param  source The buffer of received bytes.
+     * @return <code>true</code> if a frame was completed, in which case its
+     *         contents are given by <code>frame()</code> and
+     *         <code>length()</code> until the next call; <code>false</code> if
+     *         all of the bytes were consumed without completing one.
+     */
+    public boolean decode (ByteRingBuffer source) {
+
+        // A completed frame is forgotten once the next decoding begins.
+        if (complete) {
+            complete     = false;
+            length       = 0;
+            framedLength = 0;
+        }
+
+        while (!source.isEmpty()) {
+
+            byte current = source.take();
+
+            // Outside a frame, look for a start tag, discarding anything else.
+            if (!inFrame) {
+                if (current == startTag) {
+                    begin();
+                }
+                continue;
+            }
+            framedLength += 1;
+
+            // Inside a frame, the byte is...
+            //   (a) Escaped:       Take it as literal data.
+            //   (b) An escape tag: Take what follows as literal data.
+            //   (c) A stop tag:    End the frame.
+            //   (d) A start tag:   All that precedes is damaged, so restart
+            //                      extraction.
+            //   (e) Otherwise:     Take it as literal data.
+            if (escaped) {
+                escaped = false;
+                accept(current);
+            } else if (current == escapeTag) {
+                escaped = true;
+            } else if (current == stopTag) {
+                inFrame = false;
+                if (headerLength < HEADER_LENGTH) {
+                    damagedHeaders += 1;
+                } else if (!skipping) {
+                    complete = true;
+                    return true;
+                }
+            } else if (current == startTag) {
+                begin();
+            } else {
+                accept(current);
+            }
+
+        }
+
+        return false;
+
+    } // decode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the array whose first <code>length()</code> bytes are the
+     *         contents of the completed frame.  The array is reused, and so is
+     *         overwritten by the next call to <code>decode()</code>.
+     */
+    public byte[] frame () {
+
+        return frame;
+
+    } // frame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes of contents in the completed frame.
+     */
+    public int length () {
+
+        return length;
+
+    } // length ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the source address of the completed frame.
+     */
+    public int source () {
+
+        return header[1] & 0xff;
+
+    } // source ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames so far whose headers were cut short or
+     *         named the broadcast address as their source.
+     */
+    public long damagedHeaders () {
+
+        return damagedHeaders;
+
+    } // damagedHeaders ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of frames so far that were addressed elsewhere, and
+     *         so skipped.
+     */
+    public long skippedFrames () {
+
+        return skippedFrames;
+
+    } // skippedFrames ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the header of the completed frame, which its frame check is
+     *         expected to cover.  The array is reused, and so is overwritten
+     *         by the next call to <code>decode()</code>.
+     */
+    public byte[] header () {
+
+        return header;
+
+    } // header ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  destination The destination address of a frame.
+     * @param  source      The source address of a frame.
+     * @return the header that begins the frame.
+     */
+    public static byte[] header (int destination, int source) {
+
+        return new byte[] { (byte)destination, (byte)source };
+
+    } // header ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes that the completed frame occupied as
+     *         received, including its tags.
+     */
+    public int framedLength () {
+
+        return framedLength;
+
+    } // framedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Forget any partially decoded frame.
+     */
+    public void reset () {
+
+        inFrame      = false;
+        escaped      = false;
+        complete     = false;
+        length       = 0;
+        framedLength = 0;
+        headerLength = 0;
+        skipping     = false;
+
+    } // reset ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Begin a new frame, having read its start tag.
+     */
+    private void begin () {
+
+        inFrame      = true;
+        length       = 0;
+        framedLength = 1;
+        headerLength = 0;
+        skipping     = false;
+
+    } // begin ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Take a literal byte of the current frame: into the header, until it is
+     * complete, and then into the contents, unless the frame is being skipped.
+     *
+     * @param b The byte.
+     */
+    private void accept (byte b) {
+
+        if (headerLength < HEADER_LENGTH) {
+            header[headerLength] = b;
+            headerLength += 1;
+            if (headerLength == HEADER_LENGTH) {
+                int destination = header[0] & 0xff;
+                if ((header[1] & 0xff) == DataLinkLayer.BROADCAST) {
+                    damagedHeaders += 1;
+                    skipping = true;
+                } else if (destination != address &&
+                           destination != DataLinkLayer.BROADCAST) {
+                    skippedFrames += 1;
+                    skipping = true;
+                }
+            }
+        } else if (!skipping) {
+            append(b);
+        }
+
+    } // accept ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Append a byte to the contents of the current frame, growing the array
+     * if needed.
+     *
+     * @param b The byte to append.
+     */
+    private void append (byte b) {
+
+        if (length == frame.length) {
+            frame = Arrays.copyOf(frame, 2 * frame.length);
+        }
+        frame[length] = b;
+        length += 1;
+
+    } // append ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The start tag. */
+    private final byte startTag;
+
+    /** The stop tag. */
+    private final byte stopTag;
+
+    /** The escape tag. */
+    private final byte escapeTag;
+
+    /** The address whose frames are extracted. */
+    private final int address;
+
+    /** The header of the current frame. */
+    private final byte[] header = new byte[HEADER_LENGTH];
+
+    /** The number of bytes of the header read so far. */
+    private int headerLength = 0;
+
+    /** Whether the current frame is being skipped. */
+    private boolean skipping = false;
+
+    /** The number of frames whose headers were damaged.  Counted only by the
+     *  decoding thread, but may be read from any thread. */
+    private volatile long damagedHeaders = 0;
+
+    /** The number of frames addressed elsewhere. */
+    private volatile long skippedFrames = 0;
+
+    /** The contents of the current frame. */
+    private byte[] frame = new byte[64];
+
+    /** The number of bytes of contents in the current frame. */
+    private int length = 0;
+
+    /** The number of bytes received for the current frame, including tags. */
+    private int framedLength = 0;
+
+    /** Whether a start tag has been seen, but not yet its stop tag. */
+    private boolean inFrame = false;
+
+    /** Whether the previous byte was an escape tag. */
+    private boolean escaped = false;
+
+    /** Whether the current frame is complete. */
+    private boolean complete = false;
+
+    /** The number of bytes in a frame's header. */
+    public static final int HEADER_LENGTH = 2;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class FrameDecoder
+// =============================================================================
@@ -0,0 +1,329 @@
+// =============================================================================
+/**
+ * Chooses how many data bytes a data link layer should place in each frame.
+ * A fixed sizer always gives the same size.  An adaptive sizer estimates the
+ * bit error rate of the channel from the frames that are received, damaged or
+ * not, and from the fates of the frames that are sent, acknowledged or timed
+ * out; and the per-frame overhead from the frames that are sent.  It then
+ * picks the size that maximizes the expected goodput: larger frames spread the
+ * overhead more thinly, but are more likely to be damaged.
+ *
+ * The estimate starts from a prior, worth one damaged frame, of the error
+ * rate for which the starting size is best, so that a few clean frames do not
+ * by themselves make the channel look perfect.  On a clean channel the prior
+ * fades and frames grow, at most doubling with each frame observed, towards
+ * the maximum; once damage is seen they shrink at once.
+ *
+ * A sender learns the fates of its frames only from acknowledgements and
+ * timeouts, so only layers that acknowledge frames may adapt.
+ *
+ * @file   FrameSizer.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class FrameSizer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a sizer that always chooses the same frame size.
+     *
+     * @param frameSize The number of data bytes per frame.
+     * @throws RuntimeException if the size is not positive.
+     */
+    public FrameSizer (int frameSize) {
+
+        this(frameSize, frameSize, frameSize, false);
+
+    } // FrameSizer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a sizer.
+     *
+     * @param frameSize The number of data bytes per frame, or for an adaptive
+     *                  sizer, the number to start with.
+     * @param minimum   The smallest size that an adaptive sizer may choose.
+     * @param maximum   The largest size that an adaptive sizer may choose.
+     * @param adaptive  Whether to adapt the size to the channel.
+     * @throws RuntimeException if the sizes are not positive and ordered.
+     */
+    public FrameSizer (int frameSize, int minimum, int maximum, boolean adaptive) {
+
+        if (minimum < 1 || minimum > frameSize || frameSize > maximum) {
+            throw new RuntimeException("Invalid frame sizes: " + minimum +
+                                       " <= " + frameSize + " <= " + maximum);
+        }
+
+        this.frameSize = frameSize;
+        this.minimum   = minimum;
+        this.maximum   = maximum;
+        this.adaptive  = adaptive;
+
+        // Begin as though one frame in so many bits had been damaged, where
+        // that is the error rate for which the starting size is best.
+        observedBits   = 1 / priorErrorRate(frameSize, overhead);
+        damagedFrames  = 1;
+
+    } // FrameSizer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of data bytes to place in the next frame.
+     */
+    public int frameSize () {
+
+        return frameSize;
+
+    } // frameSize ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the largest number of data bytes that may be placed in a frame.
+     */
+    public int maximum () {
+
+        return maximum;
+
+    } // maximum ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether the frame size adapts to the channel.
+     */
+    public boolean isAdaptive () {
+
+        return adaptive;
+
+    } // isAdaptive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Record that a frame was sent, to learn the framing overhead.
+     *
+     * @param dataBytes   The number of data bytes in the frame.
+     * @param framedBytes The number of bytes in the whole frame.
+     */
+    public void frameSent (int dataBytes, int framedBytes) {
+
+        if (!adaptive) {
+            return;
+        }
+
+        overhead += (Math.max(1, framedBytes - dataBytes) - overhead) * SMOOTHING;
+
+    } // frameSent ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Record that a frame was received, to learn the bit error rate, and then
+     * choose the size of subsequent frames.
+     *
+     * @param framedBytes The number of bytes in the whole frame.
+     * @param damaged     Whether the frame was found to be damaged.
+     */
+    public void frameReceived (int framedBytes, boolean damaged) {
+
+        observe(framedBytes, damaged);
+
+    } // frameReceived ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Record that a frame that was sent has been acknowledged, and so
+     * arrived undamaged, and then choose the size of subsequent frames.
+     *
+     * @param framedBytes The number of bytes in the whole frame.
+     */
+    public void frameAcknowledged (int framedBytes) {
+
+        observe(framedBytes, false);
+
+    } // frameAcknowledged ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Record that a frame that was sent went unacknowledged until it timed
+     * out, and so was most likely damaged or lost, and then choose the size
+     * of subsequent frames.
+     *
+     * @param framedBytes The number of bytes in the whole frame.
+     */
+    public void frameTimedOut (int framedBytes) {
+
+        observe(framedBytes, true);
+
+    } // frameTimedOut ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the current estimate of the channel's bit error rate.
+     */
+    public double bitErrorRate () {
+
+        return (observedBits == 0) ? 0 : damagedFrames / observedBits;
+
+    } // bitErrorRate ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Fold the fate of a frame into the estimated bit error rate, and choose
+     * the size of subsequent frames: as large as is best for the estimate,
+     * but no more than double the current size.
+     *
+     * @param framedBytes The number of bytes in the whole frame.
+     * @param damaged     Whether the frame was damaged or lost.
+     */
+    private void observe (int framedBytes, boolean damaged) {
+
+        if (!adaptive) {
+            return;
+        }
+
+        // For a small error rate, the number of damaged frames is roughly the
+        // rate times the number of bits received; keep decaying totals of
+        // both, so that the estimate follows a changing channel.
+        observedBits   = observedBits   * DECAY + framedBytes * Byte.SIZE;
+        damagedFrames  = damagedFrames  * DECAY + (damaged ? 1 : 0);
+        double errorRate = damagedFrames / observedBits;
+
+        frameSize = (int)Math.min(optimalFrameSize(errorRate), 2L * frameSize);
+
+    } // observe ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Invert <code>optimalFrameSize()</code>: from <i>k</i><sup>2</sup> +
+     * <i>hk</i> = <i>h</i>/<i>a</i>, find the bit error rate for which
+     * <i>k</i> data bytes are best.
+     *
+     * @param  frameSize The number of data bytes <i>k</i>.
+     * @param  overhead  The overhead <i>h</i>, in bytes.
+     * @return the bit error rate.
+     */
+    private static double priorErrorRate (int frameSize, double overhead) {
+
+        double a = overhead / ((double)frameSize * frameSize +
+                               overhead * frameSize);
+
+        return -Math.expm1(-a / Byte.SIZE);
+
+    } // priorErrorRate ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Find the number of data bytes <i>k</i> that maximizes the goodput
+     * <i>k</i> / (<i>k</i> + <i>h</i>) &middot; (1 - <i>p</i>)<sup>8(<i>k</i> +
+     * <i>h</i>)</sup> for overhead <i>h</i> bytes and bit error rate
+     * <i>p</i>.  Setting its derivative to zero gives
+     * <i>k</i><sup>2</sup> + <i>hk</i> - <i>h</i>/<i>a</i> = 0, where
+     * <i>a</i> = -8 ln(1 - <i>p</i>).
+     *
+     * @param  errorRate The bit error rate.
+     * @return the best size, clamped to the allowed range.
+     */
+    private int optimalFrameSize (double errorRate) {
+
+        if (errorRate <= 0) {
+            return maximum;
+        }
+
+        double a    = -Byte.SIZE * Math.log1p(-Math.min(errorRate, 0.5));
+        double h    = overhead;
+        double best = (-h + Math.sqrt(h * h + 4 * h / a)) / 2;
+
+        return (int)Math.max(minimum, Math.min(maximum, Math.round(best)));
+
+    } // optimalFrameSize ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The number of data bytes to place in the next frame. */
+    private int frameSize;
+
+    /** The smallest frame size that may be chosen. */
+    private final int minimum;
+
+    /** The largest frame size that may be chosen. */
+    private final int maximum;
+
+    /** Whether to adapt the frame size to the channel. */
+    private final boolean adaptive;
+
+    /** The smoothed number of bytes that framing adds to each frame. */
+    private double overhead = 4;
+
+    /** The decaying total of bits in frames observed, starting from the
+     *  prior. */
+    private double observedBits;
+
+    /** The decaying total of frames observed to be damaged or lost, starting
+     *  from the prior. */
+    private double damagedFrames;
+
+    /** The weight given to each new overhead sample. */
+    private static final double SMOOTHING = 0.125;
+
+    /** The factor by which older observations fade with each new frame. */
+    private static final double DECAY = 0.99;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class FrameSizer
+// =============================================================================
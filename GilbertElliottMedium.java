@@ -0,0 +1,298 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A medium whose bit errors come in bursts, following the Gilbert-Elliott
+ * model.  Each sender's channel is at any moment in one of two states: good,
+ * in which bits are seldom flipped, and bad, in which they often are.  After
+ * each bit, a good channel turns bad with one probability, and a bad channel
+ * turns good with another, so that the lengths of the good stretches and of
+ * the bursts between them are geometrically distributed.
+ *
+ * Rather than deciding for each bit, the medium draws how long the channel
+ * stays in its state, and, within it, the gaps between flipped bits.  Each
+ * receiver's copy of a block is damaged by the sender's channel in turn, so
+ * with two hosts the channel is simply the one from sender to receiver.
+ *
+ * The medium reads <code>medium.goodErrorRate</code> and
+ * <code>medium.badErrorRate</code>, the probabilities that a bit is flipped
+ * in either state (default 0 and 0.1); <code>medium.goodToBad</code> and
+ * <code>medium.badToGood</code>, the probabilities of changing state after a
+ * bit (default 0.0001 and 0.01, so bursts of 100 bits on average, every 10000
+ * bits); and, as other noisy media do, <code>medium.seed</code> and
+ * <code>medium.geometricNoise</code>.
+ *
+ * @file   GilbertElliottMedium.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ * @see    Medium#createNoise(Properties, double)
+ */
+public class GilbertElliottMedium extends Medium {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read the error rates and transition probabilities of the two states.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected void configure (Properties properties) {
+
+	goodErrorRate = DataLinkLayer.doubleProperty(properties,
+						     GOOD_ERROR_RATE_PROPERTY,
+						     DEFAULT_GOOD_ERROR_RATE);
+	badErrorRate  = DataLinkLayer.doubleProperty(properties,
+						     BAD_ERROR_RATE_PROPERTY,
+						     DEFAULT_BAD_ERROR_RATE);
+	goodToBad     = DataLinkLayer.doubleProperty(properties,
+						     GOOD_TO_BAD_PROPERTY,
+						     DEFAULT_GOOD_TO_BAD);
+	badToGood     = DataLinkLayer.doubleProperty(properties,
+						     BAD_TO_GOOD_PROPERTY,
+						     DEFAULT_BAD_TO_GOOD);
+	if (!(goodErrorRate >= 0.0 && goodErrorRate < 1.0 &&
+	      badErrorRate  >= 0.0 && badErrorRate  < 1.0 &&
+	      goodToBad     >= 0.0 && goodToBad     <= 1.0 &&
+	      badToGood     >  0.0 && badToGood     <= 1.0)) {
+	    throw new RuntimeException("Invalid Gilbert-Elliott channel: " +
+				       "error rates " + goodErrorRate + " and " +
+				       badErrorRate + ", transitions " +
+				       goodToBad + " and " + badToGood);
+	}
+
+	geometric = DataLinkLayer.booleanProperty(properties,
+						  GEOMETRIC_NOISE_PROPERTY,
+						  true);
+	random    = createRandom(properties);
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Register the given client, giving it a channel of its own for what it
+     * sends.
+     *
+     * @param client The physical layer of a stack to connect to this medium.
+     */
+    public void register (PhysicalLayer client) {
+
+	super.register(client);
+	if (!channels.containsKey(client)) {
+	    channels.put(client, new Channel(random.split()));
+	}
+
+    } // register ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a single bit, as a block of one.
+     *
+     * @param sender The client physical layer sending the bit.
+     * @param bit The value to be sent, where <code>false</code> sends a
+     *            <code>0</code> bit, and <code>true</code> sends a
+     *            <code>1</code> bit.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, boolean bit) {
+
+	transmit(sender, new long[] { bit ? 1L : 0L }, 1);
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a block of bits from one client to the other clients, each copy
+     * damaged by the sender's channel.
+     *
+     * @param sender   The client physical layer sending the bits.
+     * @param words    The bits to be sent, packed into words.
+     * @param bitCount The number of bits to send.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, long[] words, int bitCount) {
+
+	// Only registered clients may send.
+	if (!clients.contains(sender)) {
+	    throw new RuntimeException("Unregistered sender on the medium");
+	}
+
+	Channel channel = channels.get(sender);
+	for (PhysicalLayer receiver : clients) {
+	    if (receiver != sender) {
+		receiver.receive(channel.damage(words, bitCount), bitCount);
+	    }
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The probability that a bit is flipped in the good state. */
+    private double goodErrorRate = DEFAULT_GOOD_ERROR_RATE;
+
+    /** The probability that a bit is flipped in the bad state. */
+    private double badErrorRate = DEFAULT_BAD_ERROR_RATE;
+
+    /** The probability that the good state turns bad after a bit. */
+    private double goodToBad = DEFAULT_GOOD_TO_BAD;
+
+    /** The probability that the bad state turns good after a bit. */
+    private double badToGood = DEFAULT_BAD_TO_GOOD;
+
+    /** Whether to draw the gaps between flipped bits. */
+    private boolean geometric = true;
+
+    /** The generator from which each sender's channel is split. */
+    private SplittableRandom random = new SplittableRandom();
+
+    /** The channel of each sender.  Filled as clients register, before any
+     *  sends, and only read thereafter. */
+    private final Map<PhysicalLayer, Channel> channels =
+	new IdentityHashMap<PhysicalLayer, Channel>();
+
+    /** The property giving the probability of a flip in the good state. */
+    public static final String GOOD_ERROR_RATE_PROPERTY = "medium.goodErrorRate";
+
+    /** The property giving the probability of a flip in the bad state. */
+    public static final String BAD_ERROR_RATE_PROPERTY  = "medium.badErrorRate";
+
+    /** The property giving the probability of turning bad after a bit. */
+    public static final String GOOD_TO_BAD_PROPERTY     = "medium.goodToBad";
+
+    /** The property giving the probability of turning good after a bit. */
+    public static final String BAD_TO_GOOD_PROPERTY     = "medium.badToGood";
+
+    /** The probability of a flip in the good state, unless configured
+     *  otherwise. */
+    public static final double DEFAULT_GOOD_ERROR_RATE  = 0.0;
+
+    /** The probability of a flip in the bad state, unless configured
+     *  otherwise. */
+    public static final double DEFAULT_BAD_ERROR_RATE   = 0.1;
+
+    /** The probability of turning bad after a bit, unless configured
+     *  otherwise. */
+    public static final double DEFAULT_GOOD_TO_BAD      = 0.0001;
+
+    /** The probability of turning good after a bit, unless configured
+     *  otherwise. */
+    public static final double DEFAULT_BAD_TO_GOOD      = 0.01;
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * The two-state channel carrying one sender's bits.  Used only by the
+     * sender's thread.
+     */
+    private final class Channel {
+
+        Channel (SplittableRandom random) {
+            this.random      = random;
+            this.good        = new Noise(goodErrorRate, geometric, random.split());
+            this.bad         = new Noise(badErrorRate, geometric, random.split());
+            this.inBad       = false;
+            this.untilSwitch = stay(goodToBad);
+        }
+
+        /**
+         * Damage a copy of a block, moving the channel through its states as
+         * the block's bits pass.
+         *
+         * @param  words    The bits, packed into words.
+         * @param  bitCount The number of bits.
+         * @return the block itself if no state through which it passed could
+         *         flip a bit; otherwise a copy, with any bits flipped.
+         */
+        long[] damage (long[] words, int bitCount) {
+            long[] copy = words;
+            int    bit  = 0;
+            while (bit < bitCount) {
+                int   n     = (int)Math.min(untilSwitch, bitCount - bit);
+                Noise noise = inBad ? bad : good;
+                if (noise.probability() > 0.0) {
+                    if (copy == words) {
+                        copy = words.clone();
+                    }
+                    noise.flip(copy, bit, bit + n);
+                }
+                bit         += n;
+                untilSwitch -= n;
+                if (untilSwitch == 0) {
+                    inBad       = !inBad;
+                    untilSwitch = stay(inBad ? badToGood : goodToBad);
+                }
+            }
+            return copy;
+        }
+
+        /**
+         * @param  leave The probability of leaving the state after a bit.
+         * @return the number of bits, at least one, for which to stay in the
+         *         state just entered.
+         */
+        private long stay (double leave) {
+            if (leave == 0.0) {
+                return Long.MAX_VALUE;
+            }
+            double extra = Math.log(1.0 - random.nextDouble()) / Math.log1p(-leave);
+            return (extra >= Long.MAX_VALUE - 1) ? Long.MAX_VALUE : 1 + (long)extra;
+        }
+
+        /** The generator of the lengths of stays. */
+        private final SplittableRandom random;
+
+        /** The flips in the good state. */
+        private final Noise            good;
+
+        /** The flips in the bad state. */
+        private final Noise            bad;
+
+        /** Whether the channel is in the bad state. */
+        private boolean                inBad;
+
+        /** The number of bits to pass before changing state. */
+        private long                   untilSwitch;
+
+    } // class Channel
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class GilbertElliottMedium
+// =============================================================================
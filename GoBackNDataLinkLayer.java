@@ -0,0 +1,96 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.Queue;
+// =============================================================================
+
+
+// =============================================================================
+/**
+ * @file   GoBackNDataLinkLayer.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ *
+ * A sliding window data link layer that uses the Go-Back-N protocol.  The
+ * receiver accepts only the next frame in sequence, acknowledging
+ * cumulatively whatever it receives; when any outstanding frame times out,
+ * the sender resends every outstanding frame.  The window may be as large as
+ * one less than the number of sequence numbers.
+ */
+public class GoBackNDataLinkLayer extends WindowedDataLinkLayer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Deliver a data frame only if it is the next one expected from its
+     * source, and then acknowledge everything received in order from there so
+     * far.
+     *
+     * @param from The source address of the frame.
+     * @param seq  The sequence number of the frame.
+     * @param data The data carried by the frame.
+     */
+    protected void receiveData (int from, int seq, Queue<Byte> data) {
+
+        if (seq == expected[from]) {
+            deliver(data);
+            expected[from] = (expected[from] + 1) & (sequenceSpace - 1);
+        } else {
+            Trace.record(Trace.Event.SEQUENCE_DROPPED, address, seq, from);
+        }
+
+        sendAck(from, expected[from], NO_SELECTIVE_ACKS);
+
+    } // receiveData ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Go back to the oldest outstanding frame, resending it and every frame
+     * after it.
+     *
+     * @param seq The sequence number of the frame that timed out.
+     */
+    protected void timedOut (int seq) {
+
+        for (int i = 0; i < outstanding; i += 1) {
+            resend((base + i) & (sequenceSpace - 1));
+        }
+
+    } // timedOut ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return one less than the number of sequence numbers.
+     */
+    protected int maxWindowSize () {
+
+        return sequenceSpace - 1;
+
+    } // maxWindowSize ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The sequence number of the next frame to deliver, by source address. */
+    private final int[] expected = new int[SOURCES];
+
+    /** The empty tail of a purely cumulative acknowledgement. */
+    private static final byte[] NO_SELECTIVE_ACKS = new byte[0];
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class GoBackNDataLinkLayer
+// =============================================================================
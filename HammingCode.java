@@ -0,0 +1,289 @@
+// =============================================================================
+/**
+ * An extended Hamming code (SECDED: single error correction, double error
+ * detection) whose codewords are 8, 16, 32 or 64 bits long.  A codeword of
+ * <i>n</i> = 2<sup><i>m</i></sup> bits has a parity bit at each power-of-two
+ * position, an overall parity bit at position 0, and carries
+ * <i>n</i> - <i>m</i> - 1 data bits in the remaining positions, so that the
+ * code rate rises with the codeword length: (8,4) is Hamming(7,4) plus overall
+ * parity, at rate 1/2; (64,57) has rate 0.89.
+ *
+ * Data is treated as a stream of bits, most significant bit of each byte
+ * first, and split into codewords; each codeword is stored as <i>n</i>/8
+ * bytes, least significant byte first.
+ *
+ * @file   HammingCode.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class HammingCode {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a code with the given codeword length.
+     *
+     * @param codewordBits The number of bits in a codeword: 8, 16, 32 or 64.
+     * @throws RuntimeException if the length is not supported.
+     */
+    public HammingCode (int codewordBits) {
+
+        if (codewordBits != 8  && codewordBits != 16 &&
+            codewordBits != 32 && codewordBits != 64) {
+            throw new RuntimeException("Unsupported Hamming codeword length " +
+                                       codewordBits);
+        }
+
+        // The data bits occupy every position that is neither 0 nor a power of
+        // two.
+        this.codewordBits = codewordBits;
+        int parityBits    = Integer.numberOfTrailingZeros(codewordBits);
+        this.dataPositions = new int[codewordBits - parityBits - 1];
+        int i = 0;
+        for (int position = 3; position < codewordBits; position += 1) {
+            if (Integer.bitCount(position) != 1) {
+                dataPositions[i] = position;
+                i += 1;
+            }
+        }
+
+    } // HammingCode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bits in each codeword.
+     */
+    public int codewordBits () {
+
+        return codewordBits;
+
+    } // codewordBits ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of data bits carried by each codeword.
+     */
+    public int dataBits () {
+
+        return dataPositions.length;
+
+    } // dataBits ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  length A number of data bytes.
+     * @return the number of bytes needed to encode them.
+     */
+    public int encodedLength (int length) {
+
+        int codewords = (length * Byte.SIZE + dataBits() - 1) / dataBits();
+
+        return codewords * (codewordBits / Byte.SIZE);
+
+    } // encodedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Encode a range of bytes.  The final codeword is padded with zero bits.
+     *
+     * @param  data   The array holding the bytes.
+     * @param  offset The index of the first byte.
+     * @param  length The number of bytes.
+     * @return the encoded bytes.
+     */
+    public byte[] encode (byte[] data, int offset, int length) {
+
+        byte[] encoded   = new byte[encodedLength(length)];
+        int    totalBits = length * Byte.SIZE;
+        int    bit       = 0;
+        for (int out = 0; out < encoded.length; out += codewordBits / Byte.SIZE) {
+
+            // Scatter the next data bits into their positions.
+            long word = 0;
+            for (int i = 0; i < dataPositions.length && bit < totalBits; i += 1) {
+                int b = data[offset + (bit >>> 3)] >>> (7 - (bit & 7));
+                if ((b & 1) != 0) {
+                    word |= 1L << dataPositions[i];
+                }
+                bit += 1;
+            }
+
+            // Set the parity bits so that the syndrome is zero, and then the
+            // overall parity bit so that the parity is even.
+            int syndrome = syndrome(word);
+            for (int p = 1; p < codewordBits; p <<= 1) {
+                if ((syndrome & p) != 0) {
+                    word |= 1L << p;
+                }
+            }
+            if ((Long.bitCount(word) & 1) != 0) {
+                word |= 1L;
+            }
+
+            store(word, encoded, out);
+
+        }
+
+        return encoded;
+
+    } // encode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Decode a range of encoded bytes, correcting any codeword with a single
+     * flipped bit.
+     *
+     * @param  encoded The array holding the encoded bytes.
+     * @param  offset  The index of the first encoded byte.
+     * @param  length  The number of encoded bytes, a whole number of
+     *                 codewords.
+     * @param  data    The array into which to decode, which must hold at least
+     *                 <code>length * dataBits() / codewordBits</code> bits,
+     *                 rounded down to whole bytes.
+     * @return the number of bits corrected; or <code>-1</code> if a codeword
+     *         has an uncorrectable error or the length is not a whole number
+     *         of codewords.
+     */
+    public int decode (byte[] encoded, int offset, int length, byte[] data) {
+
+        int wordBytes = codewordBits / Byte.SIZE;
+        if (length % wordBytes != 0) {
+            return -1;
+        }
+
+        int totalBits = data.length * Byte.SIZE;
+        int bit       = 0;
+        int corrected = 0;
+        for (int in = offset; in < offset + length; in += wordBytes) {
+
+            long word     = load(encoded, in);
+            int  syndrome = syndrome(word);
+            boolean odd   = (Long.bitCount(word) & 1) != 0;
+
+            // An odd overall parity means one flipped bit, at the position
+            // given by the syndrome; an even parity with a non-zero syndrome
+            // means two.
+            if (odd) {
+                word      ^= 1L << syndrome;
+                corrected += 1;
+            } else if (syndrome != 0) {
+                return -1;
+            }
+
+            // Gather the data bits from their positions.
+            for (int i = 0; i < dataPositions.length && bit < totalBits; i += 1) {
+                int index = bit >>> 3;
+                int mask  = 0x80 >>> (bit & 7);
+                if (((word >>> dataPositions[i]) & 1) != 0) {
+                    data[index] |= mask;
+                } else {
+                    data[index] &= ~mask;
+                }
+                bit += 1;
+            }
+
+        }
+
+        return corrected;
+
+    } // decode ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  word A codeword.
+     * @return the exclusive-or of the positions of its set bits.
+     */
+    private int syndrome (long word) {
+
+        int syndrome = 0;
+        for (long bits = word & ~1L; bits != 0; bits &= bits - 1) {
+            syndrome ^= Long.numberOfTrailingZeros(bits);
+        }
+
+        return syndrome;
+
+    } // syndrome ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Write a codeword into an array, least significant byte first.
+     */
+    private void store (long word, byte[] dest, int offset) {
+
+        for (int i = 0; i < codewordBits / Byte.SIZE; i += 1) {
+            dest[offset + i] = (byte)(word >>> (i * Byte.SIZE));
+        }
+
+    } // store ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read a codeword from an array, least significant byte first.
+     */
+    private long load (byte[] source, int offset) {
+
+        long word = 0;
+        for (int i = 0; i < codewordBits / Byte.SIZE; i += 1) {
+            word |= (source[offset + i] & 0xffL) << (i * Byte.SIZE);
+        }
+
+        return word;
+
+    } // load ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The number of bits in a codeword. */
+    private final int   codewordBits;
+
+    /** The codeword position of each data bit, in order. */
+    private final int[] dataPositions;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class HammingCode
+// =============================================================================
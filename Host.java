@@ -1,8 +1,7 @@
 // =============================================================================
 // IMPORTS
 
-import java.util.Queue;
-import java.util.LinkedList;
+import java.util.Properties;
 // =============================================================================
 
 
@@ -29,13 +28,34 @@ public class Host implements Runnable {
     // =========================================================================
     public Host (Medium medium, String dataLinkLayerType) {
 
+	this(medium, dataLinkLayerType, System.getProperties());
+
+    } // Host ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a host whose data link layer is configured by the given
+     * properties.
+     *
+     * @param medium            The medium to which to connect.
+     * @param dataLinkLayerType The type of data link layer to use.
+     * @param properties        The configuration of the data link layer.
+     */
+    public Host (Medium medium, String dataLinkLayerType, Properties properties) {
+
 	this.medium        = medium;
-	this.physicalLayer = PhysicalLayer.create(medium);
+	this.physicalLayer = PhysicalLayer.create(medium, properties);
 	this.dataLinkLayer = DataLinkLayer.create(dataLinkLayerType,
 						  this.physicalLayer,
-						  this);
+						  this,
+						  properties);
 
-	this.buffer = new LinkedList<Byte>();
+	// The buffer is filled by the data link layer's thread, but may be
+	// retrieved from any other.
+	this.buffer = new ChunkedByteBuffer();
 
     } // Host ()
     // =========================================================================
@@ -85,6 +105,57 @@ public class Host implements Runnable {
 
 
 
+    // =========================================================================
+    /**
+     * Send a range of bytes from an array, blocking while the data link
+     * layer's buffer is full.
+     *
+     * @param data   The array holding the bytes to send.
+     * @param offset The index in <code>data</code> of the first byte.
+     * @param length The number of bytes to send.
+     */
+    public void send (byte[] data, int offset, int length) {
+
+	dataLinkLayer.send(data, offset, length);
+
+    } // send ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a range of bytes from an array if the data link layer has room to
+     * buffer them now.
+     *
+     * @param  data   The array holding the bytes to send.
+     * @param  offset The index in <code>data</code> of the first byte.
+     * @param  length The number of bytes to send.
+     * @return whether the bytes were buffered.
+     */
+    public boolean offer (byte[] data, int offset, int length) {
+
+	return dataLinkLayer.offer(data, offset, length);
+
+    } // offer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes sent but not yet framed by the data link
+     *         layer.
+     */
+    public int backlog () {
+
+	return dataLinkLayer.backlog();
+
+    } // backlog ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Receive bytes from the lower layer.  Buffer those until they are
@@ -94,10 +165,8 @@ public class Host implements Runnable {
      */
     public void receive (byte[] data) {
 
-	// Add the bytes into the buffer.
-	for (int i = 0; i < data.length; i += 1) {
-	    buffer.add(data[i]);
-	}
+	// Append the bytes to the buffer in one copy.
+	buffer.put(data);
 	
     } // receive ()
     // =========================================================================
@@ -112,17 +181,57 @@ public class Host implements Runnable {
      */
     public byte[] retrieve () {
 
-	// Remove the bytes from the buffer, adding them to a newly formed array
-	// to be returned.
-	byte[] received = new byte[buffer.size()];
-	for (int i = 0; i < received.length; i += 1) {
-	    received[i] = buffer.remove();
-	}
-
-	return received;
+	return buffer.takeAll();
 	
     } // retrieve ()
     // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Retrieve up to the given number of buffered bytes into an array of the
+     * caller's, so that draining a host need allocate nothing.
+     *
+     * @param  dest   The array into which to copy the bytes.
+     * @param  offset The index in <code>dest</code> at which to copy.
+     * @param  length The maximum number of bytes to retrieve.
+     * @return the number of bytes retrieved.
+     */
+    public int retrieve (byte[] dest, int offset, int length) {
+
+	return buffer.take(dest, offset, length);
+
+    } // retrieve ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes received and buffered, but not yet
+     *         retrieved.
+     */
+    public long available () {
+
+	return buffer.size();
+
+    } // available ()
+    // =========================================================================
+    
+
+
+    // =========================================================================
+    /**
+     * @return the data link layer in this host's network stack, e.g. for its
+     *         statistics.
+     */
+    public DataLinkLayer dataLinkLayer () {
+
+	return dataLinkLayer;
+
+    } // dataLinkLayer ()
+    // =========================================================================
     
 
 
@@ -139,7 +248,7 @@ public class Host implements Runnable {
     private DataLinkLayer dataLinkLayer;
 
     /** The buffered bytes received via the network stack. */
-    private Queue<Byte>   buffer;
+    private ChunkedByteBuffer buffer;
 
     /** Whether to emit debugging information. */
     private static final boolean debug = false;
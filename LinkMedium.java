@@ -0,0 +1,313 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A full-duplex link with a finite bit rate and a one-way propagation delay,
+ * so that its bandwidth-delay product, and thus the window and timeout that
+ * an ARQ protocol needs on it, can be set.  Each client has a channel of its
+ * own, so transmissions never collide; but a client's blocks are clocked out
+ * one after another, each taking its length at the bit rate, and each arrives
+ * at the other clients a propagation delay after its last bit is sent.
+ *
+ * Arrivals are kept in a single queue ordered by time, served by one thread
+ * that sleeps until the earliest is due, rather than being timed bit by bit;
+ * or, in a simulation, scheduled as its events.  Optionally, each bit of each
+ * receiver's copy is flipped with a given probability.
+ *
+ * The medium reads <code>medium.bitRate</code>, in bits per second (default
+ * 100000); <code>medium.propagationDelay</code>, in microseconds (default
+ * 10000); and <code>medium.bitErrorRate</code>, the probability that a bit is
+ * flipped (default 0), along with the other settings of its noise.
+ *
+ * @see Medium#createNoise(Properties, double)
+ *
+ * @file   LinkMedium.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class LinkMedium extends Medium {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read the bit rate, propagation delay, and noise.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected void configure (Properties properties) {
+
+	int bitRate = DataLinkLayer.intProperty(properties, BIT_RATE_PROPERTY,
+						DEFAULT_BIT_RATE);
+	int delay   = DataLinkLayer.intProperty(properties,
+						PROPAGATION_DELAY_PROPERTY,
+						DEFAULT_PROPAGATION_DELAY);
+	if (bitRate <= 0 || delay < 0) {
+	    throw new RuntimeException("Invalid link: " + bitRate + " bits/s, " +
+				       delay + " us");
+	}
+
+	bitNanos         = TimeUnit.SECONDS.toNanos(1) / bitRate;
+	propagationNanos = TimeUnit.MICROSECONDS.toNanos(delay);
+	noise            = createNoise(properties, 0.0);
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a single bit, as a block of one.
+     *
+     * @param sender The client physical layer sending the bit.
+     * @param bit The value to be sent, where <code>false</code> sends a
+     *            <code>0</code> bit, and <code>true</code> sends a
+     *            <code>1</code> bit.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, boolean bit) {
+
+	transmit(sender, new long[] { bit ? 1L : 0L }, 1);
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Clock a block of bits out onto the sender's channel, after whatever it
+     * has yet to finish sending, and schedule its arrival at the other clients
+     * a propagation delay after its last bit.
+     *
+     * @param sender   The client physical layer sending the bits.
+     * @param words    The bits to be sent, packed into words.
+     * @param bitCount The number of bits to send.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, long[] words, int bitCount) {
+
+	// Only registered clients may send.
+	if (!clients.contains(sender)) {
+	    throw new RuntimeException("Unregistered sender on the medium");
+	}
+
+	lock.lock();
+	try {
+
+	    // The block begins once the sender's channel is free.
+	    long now   = clock.nanoTime();
+	    Long free  = sendingUntil.get(sender);
+	    long start = (free == null) ? now : Math.max(now, free);
+	    long end   = start + bitCount * bitNanos;
+	    sendingUntil.put(sender, end);
+
+	    // A simulation delivers it in its own time.
+	    if (clock instanceof Simulation) {
+		((Simulation)clock).schedule(end + propagationNanos - now,
+					     () -> deliver(sender, words, bitCount));
+		return;
+	    }
+
+	    // Queue its arrival, waking the deliverer if it is now the first due.
+	    Arrival arrival = new Arrival(end + propagationNanos, sequence,
+					  sender, words, bitCount);
+	    sequence += 1;
+	    arrivals.add(arrival);
+	    if (deliverer == null) {
+		deliverer = new Thread(this::deliverArrivals, "LinkMedium");
+		deliverer.setDaemon(true);
+		deliverer.start();
+	    } else if (arrivals.peek() == arrival) {
+		arrived.signal();
+	    }
+
+	} finally {
+	    lock.unlock();
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run by the deliverer: wait until the earliest arrival is due, remove it,
+     * and deliver it, forever.
+     */
+    private void deliverArrivals () {
+
+	while (true) {
+
+	    Arrival due;
+	    lock.lock();
+	    try {
+		while (true) {
+		    Arrival first = arrivals.peek();
+		    if (first == null) {
+			arrived.awaitUninterruptibly();
+			continue;
+		    }
+		    long wait = first.time - clock.nanoTime();
+		    if (wait <= 0) {
+			due = arrivals.poll();
+			break;
+		    }
+		    arrived.awaitNanos(wait);
+		}
+	    } catch (InterruptedException e) {
+		return;
+	    } finally {
+		lock.unlock();
+	    }
+
+	    deliver(due.sender, due.words, due.bitCount);
+
+	}
+
+    } // deliverArrivals ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called when a block arrives.  Deliver a copy of it, with any bit errors,
+     * to every client other than its sender.
+     *
+     * @param sender   The client that sent the block.
+     * @param words    The bits, packed into words.
+     * @param bitCount The number of bits.
+     */
+    private void deliver (PhysicalLayer sender, long[] words, int bitCount) {
+
+	for (PhysicalLayer receiver : clients) {
+	    if (receiver != sender) {
+		receiver.receive(noise.damage(words, bitCount), bitCount);
+	    }
+	}
+
+    } // deliver ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The number of nanoseconds that each bit takes to send. */
+    private long bitNanos = TimeUnit.SECONDS.toNanos(1) / DEFAULT_BIT_RATE;
+
+    /** The number of nanoseconds from a bit's sending to its arrival. */
+    private long propagationNanos =
+	TimeUnit.MICROSECONDS.toNanos(DEFAULT_PROPAGATION_DELAY);
+
+    /** The bits flipped on their way.  Used only by the deliverer, or by a
+     *  simulation, so by one thread at a time. */
+    private Noise noise = createNoise(new Properties(), 0.0);
+
+    /** When each client's channel next falls idle. */
+    private final Map<PhysicalLayer, Long> sendingUntil =
+	new IdentityHashMap<PhysicalLayer, Long>();
+
+    /** The blocks on their way, earliest arrival first. */
+    private final PriorityQueue<Arrival> arrivals = new PriorityQueue<Arrival>();
+
+    /** The number given to the next arrival, to break ties in time. */
+    private long sequence;
+
+    /** Guards the sending times and the arrivals. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when an arrival becomes the first due. */
+    private final Condition arrived = lock.newCondition();
+
+    /** Delivers each block when it arrives, once there is one. */
+    private Thread deliverer;
+
+    /** The bit rate, unless configured otherwise. */
+    public static final int    DEFAULT_BIT_RATE           = 100000;
+
+    /** The propagation delay, unless configured otherwise. */
+    public static final int    DEFAULT_PROPAGATION_DELAY  = 10000;
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * A block of bits on its way across the link.  Arrivals are ordered by
+     * time, and then by when they were sent, so that a sender's blocks arrive
+     * in order even if due at once.
+     */
+    private static final class Arrival implements Comparable<Arrival> {
+
+        Arrival (long time, long sequence, PhysicalLayer sender,
+                 long[] words, int bitCount) {
+            this.time     = time;
+            this.sequence = sequence;
+            this.sender   = sender;
+            this.words    = words;
+            this.bitCount = bitCount;
+        }
+
+        public int compareTo (Arrival other) {
+            if (time != other.time) {
+                return (time - other.time < 0) ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+        /** When the block arrives, in the clock's time. */
+        final long          time;
+
+        /** The order in which the block was sent. */
+        final long          sequence;
+
+        /** The sending client. */
+        final PhysicalLayer sender;
+
+        /** The bits, packed into words. */
+        final long[]        words;
+
+        /** The number of bits. */
+        final int           bitCount;
+
+    } // class Arrival
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class LinkMedium
+// =============================================================================
@@ -0,0 +1,255 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A medium that loses, duplicates, and reorders whole blocks of bits, as a
+ * network might whole frames, while carrying the bits of each block intact.
+ * Each block that a sender transmits is, independently:
+ * <ul>
+ *   <li>dropped, reaching no one, with probability
+ *       <code>medium.dropRate</code> (default 0.01);</li>
+ *   <li>otherwise held back, to be delivered just after the sender's next
+ *       block, with probability <code>medium.reorderRate</code> (default
+ *       0.01), unless a block is held already; and</li>
+ *   <li>when delivered, delivered twice, with probability
+ *       <code>medium.duplicateRate</code> (default 0.01).</li>
+ * </ul>
+ * A held block waits for the sender to transmit again, which a sender that
+ * awaits an acknowledgement does only by retransmitting; the held block then
+ * arrives as a duplicate.  The choices are drawn from <code>medium.seed</code>
+ * if given, split for each sender.
+ *
+ * @file   LossyMedium.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class LossyMedium extends Medium {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read the probabilities of dropping, reordering, and duplicating a block.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected void configure (Properties properties) {
+
+	dropRate      = DataLinkLayer.doubleProperty(properties,
+						     DROP_RATE_PROPERTY,
+						     DEFAULT_RATE);
+	reorderRate   = DataLinkLayer.doubleProperty(properties,
+						     REORDER_RATE_PROPERTY,
+						     DEFAULT_RATE);
+	duplicateRate = DataLinkLayer.doubleProperty(properties,
+						     DUPLICATE_RATE_PROPERTY,
+						     DEFAULT_RATE);
+	if (!(dropRate      >= 0.0 && dropRate      < 1.0 &&
+	      reorderRate   >= 0.0 && reorderRate   < 1.0 &&
+	      duplicateRate >= 0.0 && duplicateRate < 1.0)) {
+	    throw new RuntimeException("Invalid lossy medium: drop rate " +
+				       dropRate + ", reorder rate " +
+				       reorderRate + ", duplicate rate " +
+				       duplicateRate);
+	}
+
+	random = createRandom(properties);
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Register the given client, giving it choices of its own for what it
+     * sends.
+     *
+     * @param client The physical layer of a stack to connect to this medium.
+     */
+    public void register (PhysicalLayer client) {
+
+	super.register(client);
+	if (!senders.containsKey(client)) {
+	    senders.put(client, new Sender(random.split()));
+	}
+
+    } // register ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a single bit, as a block of one.
+     *
+     * @param sender The client physical layer sending the bit.
+     * @param bit The value to be sent, where <code>false</code> sends a
+     *            <code>0</code> bit, and <code>true</code> sends a
+     *            <code>1</code> bit.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, boolean bit) {
+
+	transmit(sender, new long[] { bit ? 1L : 0L }, 1);
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a block of bits from one client to the other clients, unless it is
+     * dropped or held back; and deliver any block held back before it.
+     *
+     * @param sender   The client physical layer sending the bits.
+     * @param words    The bits to be sent, packed into words.
+     * @param bitCount The number of bits to send.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, long[] words, int bitCount) {
+
+	// Only registered clients may send.
+	if (!clients.contains(sender)) {
+	    throw new RuntimeException("Unregistered sender on the medium");
+	}
+
+	Sender state = senders.get(sender);
+	if (state.random.nextDouble() < dropRate) {
+	    Trace.record(Trace.Event.BLOCK_DROPPED, -1, bitCount);
+	    return;
+	}
+	if (state.held == null && state.random.nextDouble() < reorderRate) {
+	    state.held      = words;
+	    state.heldCount = bitCount;
+	    return;
+	}
+
+	deliver(sender, words, bitCount);
+	if (state.random.nextDouble() < duplicateRate) {
+	    deliver(sender, words, bitCount);
+	}
+
+	// The block held back arrives after this one.
+	if (state.held != null) {
+	    long[] held = state.held;
+	    state.held  = null;
+	    deliver(sender, held, state.heldCount);
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Deliver a block to every client other than its sender.
+     *
+     * @param sender   The client that sent the block.
+     * @param words    The bits, packed into words.
+     * @param bitCount The number of bits.
+     */
+    private void deliver (PhysicalLayer sender, long[] words, int bitCount) {
+
+	for (PhysicalLayer receiver : clients) {
+	    if (receiver != sender) {
+		receiver.receive(words, bitCount);
+	    }
+	}
+
+    } // deliver ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The probability that a block is dropped. */
+    private double dropRate = DEFAULT_RATE;
+
+    /** The probability that a block is held back. */
+    private double reorderRate = DEFAULT_RATE;
+
+    /** The probability that a block is delivered twice. */
+    private double duplicateRate = DEFAULT_RATE;
+
+    /** The generator from which each sender's choices are split. */
+    private SplittableRandom random = new SplittableRandom();
+
+    /** The state of each sender.  Filled as clients register, before any
+     *  sends, and only read thereafter. */
+    private final Map<PhysicalLayer, Sender> senders =
+	new IdentityHashMap<PhysicalLayer, Sender>();
+
+    /** The property giving the probability that a block is dropped. */
+    public static final String DROP_RATE_PROPERTY      = "medium.dropRate";
+
+    /** The property giving the probability that a block is held back. */
+    public static final String REORDER_RATE_PROPERTY   = "medium.reorderRate";
+
+    /** The property giving the probability that a block is delivered
+     *  twice. */
+    public static final String DUPLICATE_RATE_PROPERTY = "medium.duplicateRate";
+
+    /** Each probability, unless configured otherwise. */
+    public static final double DEFAULT_RATE            = 0.01;
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * The choices and held block of one sender.  Used only by the sender's
+     * thread.
+     */
+    private static final class Sender {
+
+        Sender (SplittableRandom random) {
+            this.random = random;
+        }
+
+        /** The generator of the sender's choices. */
+        final SplittableRandom random;
+
+        /** The block held back, if any. */
+        long[]                 held;
+
+        /** The number of bits in the block held back. */
+        int                    heldCount;
+
+    } // class Sender
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class LossyMedium
+// =============================================================================
@@ -1,14 +1,24 @@
 // =============================================================================
 // IMPORTS
 
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
 // =============================================================================
 
 
 
 // =============================================================================
 /**
- * A medium that occassionally flips a bit.
+ * A medium that occassionally flips a bit.  Each sender's bits are damaged by
+ * noise of its own, split in order of registration from the medium's, so that
+ * with <code>medium.seed</code> set, each sender's sequence of transmissions
+ * is flipped alike from run to run however the senders' threads interleave.
+ * The medium reads <code>medium.bitErrorRate</code> (default 0.001) and the
+ * other settings of its noise.
+ *
+ * @see    Medium#createNoise(Properties, double)
  *
  * @file   LowNoiseMedium.java
  * @author Scott F. Kaplan (sfkaplan@cs.amherst.edu)
@@ -25,10 +35,45 @@ public class LowNoiseMedium extends Medium {
 
 
 
+    // =========================================================================
+    /**
+     * Read the settings of the noise.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected void configure (Properties properties) {
+
+	noise = createNoise(properties, DEFAULT_BIT_ERROR_RATE);
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Register the given client, giving it noise of its own for what it
+     * sends.
+     *
+     * @param client The physical layer of a stack to connect to this medium.
+     */
+    public void register (PhysicalLayer client) {
+
+	super.register(client);
+	if (!senderNoise.containsKey(client)) {
+	    senderNoise.put(client, noise.split());
+	}
+
+    } // register ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Send a bit from one client to the other clients.  With some probability,
-     * flip a bit.
+     * flip each receiver's copy of the bit.
      *
      * @param sender The client physical layer sending the bit.
      * @param bit The value to be sent, where <code>false</code> sends a
@@ -45,22 +90,57 @@ public class LowNoiseMedium extends Medium {
 	}
 	
 	// Deliver the bit to each client that is not the sender.
+	Noise                   noise          = senderNoise.get(sender);
 	Iterator<PhysicalLayer> clientIterator = clients.iterator();
 	while (clientIterator.hasNext()) {
-	    
-	    // With low probability, flip this bit.
-	    if (Math.random() < errorProbability) {
-		if (debug) {
-		    System.out.println("LowNoiseMedium.transmit(): Flipped bit!");
-		}
-		bit = !bit;
+
+	    PhysicalLayer receiver = clientIterator.next();
+	    if (receiver == sender) {
+		continue;
 	    }
 
+	    // With low probability, flip this receiver's copy of the bit.
+	    receiver.receive(bit != noise.flip());
+
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a block of bits from one client to the other clients.  Each receiver
+     * gets its own copy of the block, in which each bit is independently
+     * flipped with some probability.
+     *
+     * @param sender   The client physical layer sending the bits.
+     * @param words    The bits to be sent, packed into words.
+     * @param bitCount The number of bits to send.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, long[] words, int bitCount) {
+
+	// Only registered clients may send.
+	if (!clients.contains(sender)) {
+	    throw new RuntimeException("Unregistered sender on the medium");
+	}
+
+	// Deliver a copy of the block to each client that is not the sender.
+	Noise                   noise          = senderNoise.get(sender);
+	Iterator<PhysicalLayer> clientIterator = clients.iterator();
+	while (clientIterator.hasNext()) {
+
 	    PhysicalLayer receiver = clientIterator.next();
-	    if (receiver != sender) {
-		receiver.receive(bit);
+	    if (receiver == sender) {
+		continue;
 	    }
 
+	    // With low probability, flip each bit of this receiver's copy.
+	    receiver.receive(noise.damage(words, bitCount), bitCount);
+
 	}
 
     } // transmit ()
@@ -71,8 +151,16 @@ public class LowNoiseMedium extends Medium {
     // =========================================================================
     // DATA MEMBERS
 
-    // The probablity that a bit will flip.
-    private static final double errorProbability = 0.001;
+    /** The noise from which each sender's is split. */
+    private Noise noise = createNoise(new Properties(), DEFAULT_BIT_ERROR_RATE);
+
+    /** The noise damaging each sender's bits.  Filled as clients register,
+     *  before any sends, and only read thereafter. */
+    private final Map<PhysicalLayer, Noise> senderNoise =
+	new IdentityHashMap<PhysicalLayer, Noise>();
+
+    /** The probablity that a bit will flip, unless configured otherwise. */
+    public static final double DEFAULT_BIT_ERROR_RATE = 0.001;
     // =========================================================================
 
 
@@ -3,7 +3,9 @@
 
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.Properties;
 import java.util.Queue;
+import java.util.SplittableRandom;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 // =============================================================================
@@ -33,6 +35,27 @@ public abstract class Medium {
     // Create the requested medium type and return it.
     public static Medium create (String type) {
 
+	return create(type, System.getProperties());
+
+    } // create ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the requested medium type, configured by the given properties,
+     * and return it.
+     *
+     * @param  type       The subclass of which to create an instance.
+     * @param  properties The configuration of the medium.
+     * @return The newly created medium.
+     * @throws RuntimeException if the given type is not a valid subclass, or if
+     *                          the configuration is invalid.
+     * @see    configure(Properties)
+     */
+    public static Medium create (String type, Properties properties) {
+
 	// Look up the class by name.
 	String className   = type + "Medium";
 	Class  mediumClass = null;
@@ -60,6 +83,9 @@ public abstract class Medium {
 				       " is not a subclass of Medium");
 	}
 
+	// Configure it.
+	medium.configure(properties);
+
 	return medium;
 
     } // create ()
@@ -96,6 +122,137 @@ public abstract class Medium {
 
 
 
+    // =========================================================================
+    /**
+     * Take time from the given clock, rather than the system's.  Must be
+     * called before any client is registered, since the clients' layers take
+     * their time from the medium.
+     *
+     * @param  clock The clock, such as a <code>Simulation</code> to run in
+     *               virtual time.
+     * @throws RuntimeException if a client is already registered.
+     */
+    public void useClock (Clock clock) {
+
+	if (!clients.isEmpty()) {
+	    throw new RuntimeException("Clock changed with clients registered");
+	}
+	this.clock = clock;
+
+    } // useClock ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the clock from which this medium, and its clients, take time.
+     */
+    public Clock clock () {
+
+	return clock;
+
+    } // clock ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read this medium's settings.  By default, there are none; subclasses
+     * with settings should override this method.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected void configure (Properties properties) {
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the noise that a medium's settings call for: bits flipped with
+     * probability <code>medium.bitErrorRate</code>, drawn from a generator
+     * seeded with <code>medium.seed</code> if given, so that runs can be
+     * replayed, and otherwise seeded unpredictably.  Unless
+     * <code>medium.geometricNoise</code> is <code>false</code>, the gaps
+     * between flipped bits are drawn rather than a number for every bit.
+     *
+     * @param  properties  The configuration.
+     * @param  defaultRate The bit error rate, unless configured otherwise.
+     * @return the noise.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected static Noise createNoise (Properties properties,
+					double     defaultRate) {
+
+	return createNoise(properties, BIT_ERROR_RATE_PROPERTY, defaultRate);
+
+    } // createNoise ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create noise as configured, but with its probability given by another
+     * setting, for a medium whose noise does something other than flip bits.
+     *
+     * @param  properties  The configuration.
+     * @param  rateKey     The name of the setting giving the probability.
+     * @param  defaultRate The probability, unless configured otherwise.
+     * @return the noise.
+     * @throws RuntimeException if a setting is invalid.
+     * @see    createNoise(Properties, double)
+     */
+    protected static Noise createNoise (Properties properties,
+					String     rateKey,
+					double     defaultRate) {
+
+	double  rate      = DataLinkLayer.doubleProperty(properties, rateKey,
+							 defaultRate);
+	boolean geometric = DataLinkLayer.booleanProperty(properties,
+							  GEOMETRIC_NOISE_PROPERTY,
+							  true);
+
+	return new Noise(rate, geometric, createRandom(properties));
+
+    } // createNoise ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a generator seeded with <code>medium.seed</code>, if given, and
+     * otherwise seeded unpredictably.
+     *
+     * @param  properties The configuration.
+     * @return the generator.
+     * @throws RuntimeException if the seed is not a number.
+     */
+    protected static SplittableRandom createRandom (Properties properties) {
+
+	String seed = properties.getProperty(SEED_PROPERTY);
+	if (seed == null) {
+	    return new SplittableRandom();
+	}
+
+	try {
+	    return new SplittableRandom(Long.parseLong(seed.trim()));
+	} catch (NumberFormatException e) {
+	    throw new RuntimeException("Invalid number for " + SEED_PROPERTY +
+				       ": " + seed);
+	}
+
+    } // createRandom ()
+    // =========================================================================
+
+
+
     // =========================================================================
     // Send a bit from one physical layer to others.
     abstract public void transmit (PhysicalLayer sender, boolean bit);
@@ -103,14 +260,101 @@ public abstract class Medium {
 
 
 
+    // =========================================================================
+    /**
+     * Send a block of bits from one physical layer to others.  Bit <i>i</i> of
+     * the block is bit <code>i % 64</code> of <code>words[i / 64]</code>, and
+     * bits are sent in increasing order of <i>i</i>.  Subclasses that can carry
+     * a whole block at once should override this method; by default, each bit
+     * is sent individually.  The medium and its receivers may hold onto
+     * <code>words</code>, so the sender must not modify it afterwards.
+     *
+     * @param sender   The client physical layer sending the bits.
+     * @param words    The bits to be sent, packed into words.
+     * @param bitCount The number of bits to send.
+     */
+    public void transmit (PhysicalLayer sender, long[] words, int bitCount) {
+
+	for (int i = 0; i < bitCount; i += 1) {
+	    transmit(sender, ((words[i >>> 6] >>> (i & 63)) & 1) != 0);
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether a transmission can be sensed on the medium.  By default,
+     *         transmissions take no time, so the medium is never busy.
+     */
+    public boolean isBusy () {
+
+	return false;
+
+    } // isBusy ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of nanoseconds until the transmissions now on the
+     *         medium will have ended.
+     */
+    public long nanosUntilIdle () {
+
+	return 0;
+
+    } // nanosUntilIdle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether the medium reports to each sender whether its
+     *         transmission collided with another.  If not, every transmission
+     *         may be assumed to have been carried.
+     * @see    PhysicalLayer#transmissionOutcome()
+     */
+    public boolean detectsCollisions () {
+
+	return false;
+
+    } // detectsCollisions ()
+    // =========================================================================
+
+
+
     // =========================================================================
     // DATA MEMBERS
 
     /** The physical layer clients connected to the medium. */
     protected Collection<PhysicalLayer> clients;    
 
-    /** Whether to emit debugging information. */
-    protected static final boolean debug = false;
+    /** The source of time. */
+    protected Clock clock = Clock.SYSTEM;
+
+    /** The property giving the bit rate of a medium on which sending takes
+     *  time, in bits per second. */
+    public static final String BIT_RATE_PROPERTY          = "medium.bitRate";
+
+    /** The property giving the propagation delay of a medium on which bits
+     *  take time to arrive, in microseconds. */
+    public static final String PROPAGATION_DELAY_PROPERTY = "medium.propagationDelay";
+
+    /** The property giving the probability that a noisy medium flips a
+     *  bit. */
+    public static final String BIT_ERROR_RATE_PROPERTY    = "medium.bitErrorRate";
+
+    /** The property giving the seed from which a noisy medium draws. */
+    public static final String SEED_PROPERTY              = "medium.seed";
+
+    /** The property choosing whether a noisy medium draws the gaps between
+     *  flipped bits, rather than a number for every bit. */
+    public static final String GEOMETRIC_NOISE_PROPERTY   = "medium.geometricNoise";
     // =========================================================================
     
 
@@ -0,0 +1,252 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.SplittableRandom;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Flips bits independently, each with a given probability, drawing from a
+ * generator of its own so that a run seeded alike flips the same bits.
+ *
+ * By default, rather than drawing a number for every bit, the noise draws the
+ * gap to the next flipped bit from the geometric distribution, and counts it
+ * down across however many bits and blocks it spans; so a block pays for the
+ * bits that it flips, not for the bits that it carries.  Drawing once per bit
+ * flips bits with the same probability, but from a different sequence.
+ *
+ * Each bit flipped is recorded in the trace, at the detail level.
+ *
+ * Noise is not thread-safe; each thread that damages bits should have noise of
+ * its own, split from a common one.
+ *
+ * @file   Noise.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class Noise {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create noise.
+     *
+     * @param  probability The probability that a bit is flipped.
+     * @param  geometric   Whether to draw the gaps between flipped bits,
+     *                     rather than a number for every bit.
+     * @param  random      The generator from which to draw.
+     * @throws RuntimeException if the probability is not in [0, 1).
+     */
+    public Noise (double probability, boolean geometric, SplittableRandom random) {
+
+        if (!(probability >= 0.0 && probability < 1.0)) {
+            throw new RuntimeException("Invalid bit error rate: " + probability);
+        }
+
+        this.probability = probability;
+        this.geometric   = geometric;
+        this.random      = random;
+        this.scale       = 1.0 / Math.log1p(-probability);
+        this.untilFlip   = nextGap();
+
+    } // Noise ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return noise with the same probability and mode, drawing from a new
+     *         generator split from this one's.
+     */
+    public Noise split () {
+
+        return new Noise(probability, geometric, random.split());
+
+    } // split ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Decide whether to flip the next bit.
+     *
+     * @return whether to flip it.
+     */
+    public boolean flip () {
+
+        if (!geometric) {
+            boolean flipped = random.nextDouble() < probability;
+            if (flipped) {
+                Trace.record(Trace.Event.BIT_FLIPPED, -1);
+            }
+            return flipped;
+        }
+
+        if (untilFlip > 0) {
+            untilFlip -= 1;
+            return false;
+        }
+        untilFlip = nextGap();
+        Trace.record(Trace.Event.BIT_FLIPPED, -1);
+
+        return true;
+
+    } // flip ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Flip bits of the next block.
+     *
+     * @param  words    The bits, packed into words.
+     * @param  bitCount The number of bits.
+     * @return the block itself if it is known in advance that no bits will be
+     *         flipped; otherwise a copy, with any bits flipped.
+     */
+    public long[] damage (long[] words, int bitCount) {
+
+        // Pass the block on untouched if the countdown shows that none of its
+        // bits will be flipped.
+        if (probability == 0.0) {
+            return words;
+        }
+        if (geometric && untilFlip >= bitCount) {
+            untilFlip -= bitCount;
+            return words;
+        }
+
+        long[] copy = words.clone();
+        flip(copy, 0, bitCount);
+
+        return copy;
+
+    } // damage ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Flip bits of a span of a block in place, tracing each by its index in
+     * the block.
+     *
+     * @param  words The bits, packed into words.
+     * @param  from  The index of the first bit of the span.
+     * @param  to    The index just past the last bit of the span.
+     * @return the number of bits flipped.
+     */
+    public int flip (long[] words, int from, int to) {
+
+        boolean tracing = Trace.on(Trace.Event.BIT_FLIPPED);
+        int     flipped = 0;
+        if (!geometric) {
+            for (int i = from; i < to; i += 1) {
+                if (random.nextDouble() < probability) {
+                    words[i >>> 6] ^= 1L << (i & 63);
+                    flipped         += 1;
+                    if (tracing) {
+                        Trace.record(Trace.Event.BIT_FLIPPED, -1, i);
+                    }
+                }
+            }
+            return flipped;
+        }
+
+        // Flip each bit that the countdown reaches within the span, and carry
+        // what remains of it to the next.
+        int  length = to - from;
+        long bit    = untilFlip;
+        while (bit < length) {
+            long i = from + bit;
+            words[(int)(i >>> 6)] ^= 1L << (i & 63);
+            flipped               += 1;
+            bit                   += 1 + nextGap();
+            if (tracing) {
+                Trace.record(Trace.Event.BIT_FLIPPED, -1, i);
+            }
+        }
+        untilFlip = bit - length;
+
+        return flipped;
+
+    } // flip ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the probability that a bit is flipped.
+     */
+    public double probability () {
+
+        return probability;
+
+    } // probability ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of unflipped bits before the next flipped one, drawn
+     *         from the geometric distribution; or <code>Long.MAX_VALUE</code>
+     *         if no bit is ever flipped.
+     */
+    private long nextGap () {
+
+        if (probability == 0.0) {
+            return Long.MAX_VALUE;
+        }
+
+        return (long)(Math.log(1.0 - random.nextDouble()) * scale);
+
+    } // nextGap ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The probability that a bit is flipped. */
+    private final double           probability;
+
+    /** Whether to draw gaps between flipped bits, rather than every bit. */
+    private final boolean          geometric;
+
+    /** The generator. */
+    private final SplittableRandom random;
+
+    /** The factor turning the logarithm of a uniform draw into a gap. */
+    private final double           scale;
+
+    /** The number of bits to pass before flipping one. */
+    private long                   untilFlip;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class Noise
+// =============================================================================
@@ -2,10 +2,9 @@
 // IMPORTS
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Queue;
-import java.util.Date;
+import java.util.concurrent.TimeUnit;
 // =============================================================================
 
 
@@ -37,8 +36,8 @@ public class PARDataLinkLayer extends DataLinkLayer {
     // when the parity is calculated
     data.add(id);
 
-	// Calculate the parity.
-	byte parity = calculateParity(data);
+	// Calculate the parity, over the header too.
+	byte parity = calculateParity(withHeader(header(destination), data));
 	
 	// Begin with the start tag.
 	Queue<Byte> framingData = new LinkedList<Byte>();
@@ -87,77 +86,30 @@ public class PARDataLinkLayer extends DataLinkLayer {
      */
     protected Queue<Byte> processFrame () {
 
-	// Search for a start tag.  Discard anything prior to it.
-	boolean        startTagFound = false;
-	Iterator<Byte>             i = receiveBuffer.iterator();
-	while (!startTagFound && i.hasNext()) {
-	    byte current = i.next();
-	    if (current != startTag) {
-		i.remove();
-	    } else {
-		startTagFound = true;
-	    }
-	}
-
-	// If there is no start tag, then there is no frame.
-	if (!startTagFound) {
+	// Consume received bytes until a whole frame has been extracted.
+	if (!frameDecoder.decode(receiveBuffer)) {
 	    return null;
 	}
-	
-	// Try to extract data while waiting for an unescaped stop tag.
-        int                       index = 1;
-	LinkedList<Byte> extractedBytes = new LinkedList<Byte>();
-	boolean            stopTagFound = false;
-	while (!stopTagFound && i.hasNext()) {
-
-	    // Grab the next byte.  If it is...
-	    //   (a) An escape tag: Skip over it and grab what follows as
-	    //                      literal data.
-	    //   (b) A stop tag:    Remove all processed bytes from the buffer and
-	    //                      end extraction.
-	    //   (c) A start tag:   All that precedes is damaged, so remove it
-	    //                      from the buffer and restart extraction.
-	    //   (d) Otherwise:     Take it as literal data.
-	    byte current = i.next();
-            index += 1;
-	    if (current == escapeTag) {
-		if (i.hasNext()) {
-		    current = i.next();
-                    index += 1;
-		    extractedBytes.add(current);
-		} else {
-		    // An escape was the last byte available, so this is not a
-		    // complete frame.
-		    return null;
-		}
-	    } else if (current == stopTag) {
-		cleanBufferUpTo(index);
-		stopTagFound = true;
-	    } else if (current == startTag) {
-		cleanBufferUpTo(index - 1);
-                index = 1;
-		extractedBytes = new LinkedList<Byte>();
-	    } else {
-		extractedBytes.add(current);
-	    }
 
-	}
-
-	// If there is no stop tag, then the frame is incomplete.
-	if (!stopTagFound) {
+	// A frame too short to hold an id and a parity byte was damaged,
+	// perhaps by a flipped bit that forged a stop tag, or by erased bytes.
+	if (frameDecoder.length() < 2) {
+	    frameReceived(frameDecoder.framedLength(), true);
 	    return null;
 	}
-
-	if (debug) {
-	    System.out.println("PARDataLinkLayer.processFrame(): Got whole frame!");
+	LinkedList<Byte> extractedBytes = new LinkedList<Byte>();
+	byte[]           frame          = frameDecoder.frame();
+	for (int i = 0; i < frameDecoder.length(); i += 1) {
+	    extractedBytes.add(frame[i]);
 	}
 
     // The last byte inside the frame is the parity.  Compare it to a
     // recalculation.
     byte receivedParity   = extractedBytes.remove(extractedBytes.size() - 1);
-    byte calculatedParity = calculateParity(extractedBytes);
+    byte calculatedParity = calculateParity(withHeader(frameDecoder.header(),
+                                                       extractedBytes));
+    frameReceived(frameDecoder.framedLength(), receivedParity != calculatedParity);
     if (receivedParity != calculatedParity) {
-        System.out.printf("PARDataLinkLayer.processFrame():\tDamaged frame\n");
         return null;
     }
 
@@ -165,10 +117,10 @@ public class PARDataLinkLayer extends DataLinkLayer {
     // that is expected return null
     byte receivedID = extractedBytes.remove(extractedBytes.size() - 1);
     if (receivedID != this.id){
-        System.out.printf("PARDataLinkLayer.processFrame():\tWrong ID\n");
-        
+        Trace.record(Trace.Event.SEQUENCE_DROPPED, address, receivedID - '0',
+                     source());
         sendACK(receivedID);
-        System.out.println("ACK Re-Sent");
+        Trace.record(Trace.Event.ACK_RESENT, address, receivedID - '0');
         return null;
     }
 
@@ -188,13 +140,12 @@ public class PARDataLinkLayer extends DataLinkLayer {
      * @param frame The framed data that was transmitted.
      */ 
     protected void finishFrameSend (Queue<Byte> frame) {
-        Date d = new Date();
     	
         // Stores this frame in case it needs to be resent
         this.reSend = frame;
 
-        // Grabs the timestamp of when this frame was sent 
-    	this.timeSinceSent = d.getTime();
+        // Schedules the resend in case no ACK arrives in time
+        this.reSendTimeout = timers.schedule(timeoutNanos(), () -> resendFrame());
 
         // Reports that the host is waiting for acknowledgement
     	this.lookingForACK = true;
@@ -219,8 +170,10 @@ public class PARDataLinkLayer extends DataLinkLayer {
         // processFrame() has already checked if this frame has 
         // the right ID
         if (this.lookingForACK){
-            System.out.println("ACK Recieved");
+            Trace.record(Trace.Event.ACK_RECEIVED, address, this.id - '0');
         	this.lookingForACK =false;
+            this.reSendTimeout.cancel();
+            frameSizer.frameAcknowledged(framedLength(this.reSend));
         } 
 
         // If the host is not looking for an ACK
@@ -237,7 +190,7 @@ public class PARDataLinkLayer extends DataLinkLayer {
 
 	        // send ACK
 	        sendACK(this.id);
-            System.out.println("ACK Sent");
+            Trace.record(Trace.Event.ACK_SENT, address, this.id - '0');
 	    }
         // Once ACK has been sent/received , switch ID . 
         if(this.id == (byte)'0')
@@ -256,19 +209,72 @@ public class PARDataLinkLayer extends DataLinkLayer {
      * time has passed since some kind of response is expected.
      */
     protected void checkTimeout () {
-    	long now;
-    	Date d = new Date();
-        if(lookingForACK){
-        	now = d.getTime();
-        	if ( now - timeSinceSent >= timeoutTime){
-        		transmit(reSend);
-        		this.timeSinceSent = now;
-        	}
-        }
+        // Nothing to poll: resends are scheduled on the timer wheel
+        // when each frame is sent, and fire in resendFrame().
     } // checkTimeout ()
     // =========================================================================
 
 
+
+    // =========================================================================
+    /**
+     * @return whether there is nothing left to send and no frame awaiting
+     *         acknowledgement.
+     */
+    public boolean idle () {
+        return super.idle() && !lookingForACK;
+    } // idle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return <code>true</code>: every frame is acknowledged, or resent.
+     */
+    protected boolean acknowledges () {
+        return true;
+    } // acknowledges ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the timer wheel when the frame awaiting acknowledgement has
+     * timed out.  Resends the frame and schedules the next timeout.
+     */
+    private void resendFrame () {
+        frameSizer.frameTimedOut(framedLength(reSend));
+        retransmit(reSend);
+        timers.reschedule(reSendTimeout, timeoutNanos());
+    } // resendFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the timeout as a number of nanoseconds.
+     */
+    private long timeoutNanos () {
+        return TimeUnit.MILLISECONDS.toNanos((long)timeoutTime);
+    } // timeoutNanos ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  frame A frame as sent, without its header.
+     * @return the number of bytes that the frame occupies with its header.
+     */
+    private static int framedLength (Queue<Byte> frame) {
+        return frame.size() + FrameDecoder.HEADER_LENGTH;
+    } // framedLength ()
+    // =========================================================================
+
+
     // =========================================================================
     /**
      * Given an ID, this method sends an acknowledgement of the frame with that ID
@@ -277,7 +283,7 @@ public class PARDataLinkLayer extends DataLinkLayer {
     protected void sendACK(byte identify){
         Queue<Byte> data = new LinkedList<Byte>();
         data.add(identify);
-        byte parity = calculateParity(data);
+        byte parity = calculateParity(withHeader(header(source()), data));
 
         //Create a frame containing just the ID of the ACK
         Queue<Byte> framedACK = new LinkedList<Byte>();
@@ -286,8 +292,8 @@ public class PARDataLinkLayer extends DataLinkLayer {
         framedACK.add(parity);
         framedACK.add(stopTag);
 
-        // Send the ACK
-        transmit(framedACK);
+        // Send the ACK back to the frame's source
+        transmit(framedACK, source());
     }
 
 
@@ -339,24 +345,6 @@ public class PARDataLinkLayer extends DataLinkLayer {
     
 
 
-    // =========================================================================
-    /**
-     * Remove a leading number of elements from the receive buffer.
-     *
-     * @param index The index of the position up to which the bytes are to be
-     *              removed.
-     */
-    private void cleanBufferUpTo (int index) {
-
-        for (int i = 0; i < index; i += 1) {
-            receiveBuffer.remove();
-	}
-
-    } // cleanBufferUpTo ()
-    // =========================================================================
-
-
-
     // =========================================================================
     // DATA MEMBERS
 
@@ -372,8 +360,8 @@ public class PARDataLinkLayer extends DataLinkLayer {
     /** True if host has yet to receive ACK */
     private boolean lookingForACK = false;
 
-    /** How long it has been since sending a frame */
-    private long timeSinceSent;
+    /** The pending resend of the frame awaiting acknowledgement */
+    private TimerWheel.Timeout reSendTimeout;
 
     /** The most recently sent frame, stored in case of resend */
     private Queue<Byte> reSend;
@@ -2,7 +2,6 @@
 // IMPORTS
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Queue;
 // =============================================================================
@@ -32,8 +31,8 @@ public class ParityDataLinkLayer extends DataLinkLayer {
      */
     protected Queue<Byte> createFrame (Queue<Byte> data) {
 
-	// Calculate the parity.
-	byte parity = calculateParity(data);
+	// Calculate the parity, over the header too.
+	byte parity = calculateParity(withHeader(header(destination), data));
 	
 	// Begin with the start tag.
 	Queue<Byte> framingData = new LinkedList<Byte>();
@@ -82,77 +81,30 @@ public class ParityDataLinkLayer extends DataLinkLayer {
      */
     protected Queue<Byte> processFrame () {
 
-	// Search for a start tag.  Discard anything prior to it.
-	boolean        startTagFound = false;
-	Iterator<Byte>             i = receiveBuffer.iterator();
-	while (!startTagFound && i.hasNext()) {
-	    byte current = i.next();
-	    if (current != startTag) {
-		i.remove();
-	    } else {
-		startTagFound = true;
-	    }
+	// Consume received bytes until a whole frame has been extracted.
+	if (!frameDecoder.decode(receiveBuffer)) {
+	    return null;
 	}
 
-	// If there is no start tag, then there is no frame.
-	if (!startTagFound) {
+	// A frame too short to hold a parity byte was damaged, perhaps by a flipped
+	// bit that forged a stop tag, or by erased bytes.
+	if (frameDecoder.length() < 1) {
+	    frameReceived(frameDecoder.framedLength(), true);
 	    return null;
 	}
-	
-	// Try to extract data while waiting for an unescaped stop tag.
-        int                       index = 1;
 	LinkedList<Byte> extractedBytes = new LinkedList<Byte>();
-	boolean            stopTagFound = false;
-	while (!stopTagFound && i.hasNext()) {
-
-	    // Grab the next byte.  If it is...
-	    //   (a) An escape tag: Skip over it and grab what follows as
-	    //                      literal data.
-	    //   (b) A stop tag:    Remove all processed bytes from the buffer and
-	    //                      end extraction.
-	    //   (c) A start tag:   All that precedes is damaged, so remove it
-	    //                      from the buffer and restart extraction.
-	    //   (d) Otherwise:     Take it as literal data.
-	    byte current = i.next();
-            index += 1;
-	    if (current == escapeTag) {
-		if (i.hasNext()) {
-		    current = i.next();
-                    index += 1;
-		    extractedBytes.add(current);
-		} else {
-		    // An escape was the last byte available, so this is not a
-		    // complete frame.
-		    return null;
-		}
-	    } else if (current == stopTag) {
-		cleanBufferUpTo(index);
-		stopTagFound = true;
-	    } else if (current == startTag) {
-		cleanBufferUpTo(index - 1);
-                index = 1;
-		extractedBytes = new LinkedList<Byte>();
-	    } else {
-		extractedBytes.add(current);
-	    }
-
+	byte[]           frame          = frameDecoder.frame();
+	for (int i = 0; i < frameDecoder.length(); i += 1) {
+	    extractedBytes.add(frame[i]);
 	}
 
-	// If there is no stop tag, then the frame is incomplete.
-	if (!stopTagFound) {
-	    return null;
-	}
-
-	if (debug) {
-	    System.out.println("ParityDataLinkLayer.processFrame(): Got whole frame!");
-	}
-        
 	// The final byte inside the frame is the parity.  Compare it to a
 	// recalculation.
 	byte receivedParity   = extractedBytes.remove(extractedBytes.size() - 1);
-	byte calculatedParity = calculateParity(extractedBytes);
+	byte calculatedParity = calculateParity(withHeader(frameDecoder.header(),
+	                                                   extractedBytes));
+	frameReceived(frameDecoder.framedLength(), receivedParity != calculatedParity);
 	if (receivedParity != calculatedParity) {
-	    System.out.printf("ParityDataLinkLayer.processFrame():\tDamaged frame\n");
 	    return null;
 	}
 
@@ -245,24 +197,6 @@ public class ParityDataLinkLayer extends DataLinkLayer {
     
 
 
-    // =========================================================================
-    /**
-     * Remove a leading number of elements from the receive buffer.
-     *
-     * @param index The index of the position up to which the bytes are to be
-     *              removed.
-     */
-    private void cleanBufferUpTo (int index) {
-
-        for (int i = 0; i < index; i += 1) {
-            receiveBuffer.remove();
-	}
-
-    } // cleanBufferUpTo ()
-    // =========================================================================
-
-
-
     // =========================================================================
     // DATA MEMBERS
 
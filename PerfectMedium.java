@@ -60,6 +60,40 @@ public class PerfectMedium extends Medium {
 
 
 
+    // =========================================================================
+    /**
+     * Send a block of bits from one client to the other clients.  Since no bit
+     * is ever altered, every receiver is handed the same block.
+     *
+     * @param sender   The client physical layer sending the bits.
+     * @param words    The bits to be sent, packed into words.
+     * @param bitCount The number of bits to send.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, long[] words, int bitCount) {
+
+	// Only registered clients may send.
+	if (!clients.contains(sender)) {
+	    throw new RuntimeException("Unregistered sender on the medium");
+	}
+
+	// Deliver the block to each client that is not the sender.
+	Iterator<PhysicalLayer> clientIterator = clients.iterator();
+	while (clientIterator.hasNext()) {
+
+	    PhysicalLayer receiver = clientIterator.next();
+	    if (receiver != sender) {
+		receiver.receive(words, bitCount);
+	    }
+
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
 // =============================================================================
 } // class PerfectMedium
 // =============================================================================
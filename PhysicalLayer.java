@@ -1,8 +1,8 @@
 // =============================================================================
 // IMPORTS
 
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 // =============================================================================
 
 
@@ -47,18 +47,99 @@ public class PhysicalLayer {
 
     // =========================================================================
     /**
-     * The constructor.  Attach the new physical layer to the given medium.
+     * Create a physical layer, configured by the given properties, and
+     * connect it to the given medium.  The layer reads
+     * <code>phy.receiveCapacity</code>, the number of received bits that may
+     * wait for the client before the medium must wait too (default
+     * <code>0</code>, for no limit), which applies only along with
+     * <code>phy.asyncTransmit</code>, whether to send from a thread of its own
+     * (default <code>false</code>).
+     *
+     * @param  medium     The medium on which this physical layer will transmit
+     *                    and receive.
+     * @param  properties The configuration.
+     * @return the newly created physical layer.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    public static PhysicalLayer create (Medium medium, Properties properties) {
+
+        int capacity = DataLinkLayer.intProperty(properties,
+                                                 RECEIVE_CAPACITY_PROPERTY, 0);
+        if (capacity < 0) {
+            throw new RuntimeException("Invalid receive capacity: " + capacity);
+        }
+
+        return new PhysicalLayer(medium, capacity,
+                                 DataLinkLayer.booleanProperty(properties,
+                                                               ASYNC_TRANSMIT_PROPERTY,
+                                                               false));
+
+    } // create ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * The constructor.  Attach the new physical layer to the given medium,
+     * with no limit on the bits waiting for the client, and sending on the
+     * client's thread.
      *
      * @param medium The medium through which this physical layer will signal.
      */
     public PhysicalLayer (Medium medium) {
 
+        this(medium, 0, false);
+
+    } // PhysicalLayer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Attach the new physical layer to the given medium.
+     *
+     * @param medium       The medium through which this physical layer will
+     *                     signal.
+     * @param capacity     The number of received bits that may wait for the
+     *                     client before the medium must wait for it to make
+     *                     room, or <code>0</code> for no limit.  The limit
+     *                     applies only if sending is asynchronous: a client
+     *                     that sends on its own thread may be made to wait,
+     *                     inside the medium, for a peer's room, and if the
+     *                     peer is likewise waiting for this client's room,
+     *                     neither would ever drain.  A client whose sends
+     *                     only queue for its transmitter never waits, and so
+     *                     always goes on draining.
+     * @param asynchronous Whether to send from a thread of its own, rather
+     *                     than the client's.  A medium whose clock is a
+     *                     <code>Simulation</code> runs everything on one
+     *                     thread, so there neither setting applies.
+     * @see   Transmitter
+     */
+    public PhysicalLayer (Medium medium, int capacity, boolean asynchronous) {
+
         // Connect the client to the media.
         this.medium = medium;
         medium.register(this);
 
-        // Create the bit queue for received bits.
-        bitQueue = new ConcurrentLinkedQueue<Boolean>();
+        // Neither waiting for room nor handing off sending is possible on
+        // the single thread of a simulation.  Elsewhere, waiting for room is
+        // safe only if this client never waits to send.
+        if (medium.clock() instanceof Simulation) {
+            capacity     = 0;
+            asynchronous = false;
+        } else if (!asynchronous) {
+            capacity     = 0;
+        }
+
+        // Create the channel for received bits.
+        channel = (capacity > 0) ? new BitChannel(capacity, true)
+                                 : new BitChannel(INITIAL_CAPACITY, false);
+
+        // Create the transmitter for sent bits, if asked.
+        transmitter = asynchronous ? new Transmitter(this, medium) : null;
 
     } // PhysicalLayer ()
     // =========================================================================
@@ -95,13 +176,72 @@ public class PhysicalLayer {
      */
     public void send (boolean bit) {
 
-        medium.transmit(this, bit);
+        sendBits(new long[] { bit ? 1L : 0L }, 1);
 
     } // send ()
     // =========================================================================
 
 
 
+    // =========================================================================
+    /**
+     * Send a block of up to 64 of a client's bits via the medium, least
+     * significant bit first.
+     *
+     * @param word  The bits to send.
+     * @param count The number of bits of <code>word</code> to send.
+     */
+    public void sendBits (long word, int count) {
+
+        sendBits(new long[] { word }, count);
+
+    } // sendBits ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a block of a client's bits via the medium.  Bit <i>i</i> of the
+     * block is bit <code>i % 64</code> of <code>words[i / 64]</code>.  The
+     * array must not be modified after it is sent.  If this layer has a
+     * transmitter, the block is only queued for it, and this method returns
+     * at once.
+     *
+     * @param words    The bits to send, packed into words.
+     * @param bitCount The number of bits to send.
+     */
+    public void sendBits (long[] words, int bitCount) {
+
+        if (transmitter != null) {
+            transmitter.send(words, bitCount);
+        } else {
+            medium.transmit(this, words, bitCount);
+        }
+
+    } // sendBits ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Stop sending, abandoning anything that the transmitter has yet to send,
+     * and stop receiving, so that a sender waiting for room in a full channel
+     * gives up.
+     */
+    public void stop () {
+
+        if (transmitter != null) {
+            transmitter.stop();
+        }
+        channel.close();
+
+    } // stop ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Called by the medium to receive a bit, which is then queued for
@@ -111,13 +251,55 @@ public class PhysicalLayer {
      */
     public void receive (boolean bit) {
 
-        bitQueue.offer(bit);
+        receive(new long[] { bit ? 1L : 0L }, 1);
         
     } // deliver ()
     // =========================================================================
 
 
 
+    // =========================================================================
+    /**
+     * Called by the medium to receive a block of bits, which is then copied
+     * into the channel for receiption by the client.  If the channel is
+     * bounded and full, wait until the client has made room; it is bounded
+     * only when this layer sends asynchronously (see the constructor), so
+     * that the client is never itself stuck waiting and always drains.  Once
+     * this layer is stopped, or if the sending thread is interrupted, a block
+     * that is waiting for room is dropped instead.
+     *
+     * The channel has a single producer.  Most media deliver on the sending
+     * host's thread, so when several hosts send at once, they take turns on
+     * the channel's lock here, and one that finds it full holds the others
+     * off until there is room.  The client never takes this lock, so the
+     * handoff to it is free of locks, but the producers' side is not.
+     *
+     * @param words    The bits received from the medium, packed into words.
+     * @param bitCount The number of bits received.
+     */
+    public void receive (long[] words, int bitCount) {
+
+        if (bitCount > 0) {
+            boolean offered;
+            synchronized (channel) {
+                offered = channel.offer(words, bitCount);
+            }
+            if (!offered) {
+                Trace.record(Trace.Event.BLOCK_DROPPED, -1, bitCount);
+                return;
+            }
+
+            // Let the client's event loop know that there are bits to handle.
+            if (client != null) {
+                client.wakeUp();
+            }
+        }
+
+    } // receive ()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Called by the client to retrieve the next queued bit received from the
@@ -128,13 +310,124 @@ public class PhysicalLayer {
      */
     public Boolean retrieve () {
 
-        return bitQueue.poll();
+        return channel.poll();
 
     } // receive ()
     // ===============================================================
 
 
 
+    // ===============================================================
+    /**
+     * Called by the client to move the bits received from the medium, as
+     * whole bytes, each sent most significant bit first, into an array.  Bits
+     * of a partial byte are kept until the rest of it arrives.
+     *
+     * @param  sink   The array into which to move the bytes.
+     * @param  offset The index in <code>sink</code> of the first byte.
+     * @param  max    The most bytes to move.
+     * @return the number of bytes moved.
+     */
+    public int drainTo (byte[] sink, int offset, int max) {
+
+        return channel.drainBytes(sink, offset, max);
+
+    } // drainTo ()
+    // ===============================================================
+
+
+
+    // ===============================================================
+    /**
+     * @return whether another transmission can be sensed on the medium.
+     */
+    public boolean carrierSensed () {
+
+        return medium.isBusy();
+
+    } // carrierSensed ()
+    // ===============================================================
+
+
+
+    // ===============================================================
+    /**
+     * @return the number of nanoseconds until the medium will be idle.
+     */
+    public long nanosUntilIdle () {
+
+        return medium.nanosUntilIdle();
+
+    } // nanosUntilIdle ()
+    // ===============================================================
+
+
+
+    // ===============================================================
+    /**
+     * @return the clock from which the medium takes time.
+     */
+    public Clock clock () {
+
+        return medium.clock();
+
+    } // clock ()
+    // ===============================================================
+
+
+
+    // ===============================================================
+    /**
+     * @return whether the medium reports the outcome of each
+     *         transmission.
+     * @see    transmissionOutcome()
+     */
+    public boolean detectsCollisions () {
+
+        return medium.detectsCollisions();
+
+    } // detectsCollisions ()
+    // ===============================================================
+
+
+
+    // ===============================================================
+    /**
+     * Called by the medium when the client's latest transmission has
+     * ended, either by being carried or by colliding with another.
+     *
+     * @param carried Whether the transmission was carried.
+     */
+    public void transmissionEnded (boolean carried) {
+
+        outcome.set(carried);
+
+        if (client != null) {
+            client.wakeUp();
+        }
+
+    } // transmissionEnded ()
+    // ===============================================================
+
+
+
+    // ===============================================================
+    /**
+     * Called by the client to learn how its latest transmission ended.
+     *
+     * @return <code>true</code> if it was carried, <code>false</code> if
+     * it collided, or <code>null</code> if it has not ended since last
+     * asked.
+     */
+    public Boolean transmissionOutcome () {
+
+        return outcome.getAndSet(null);
+
+    } // transmissionOutcome ()
+    // ===============================================================
+
+
+
     // ===============================================================
     // DATA MEMBERS
 
@@ -144,8 +437,25 @@ public class PhysicalLayer {
     /** The data link layer above this physical layer. */
     private DataLinkLayer client;
 
-    /** A queue of bits that have been received from the medium. */
-    private Queue<Boolean> bitQueue;
+    /** The bits that have been received from the medium. */
+    private BitChannel channel;
+
+    /** The sender of bits from a thread of its own, if any. */
+    private Transmitter transmitter;
+
+    /** How the client's latest transmission ended, if not yet retrieved. */
+    private final AtomicReference<Boolean> outcome = new AtomicReference<Boolean>();
+
+    /** The property giving the limit on received bits waiting for the
+     *  client. */
+    public static final String RECEIVE_CAPACITY_PROPERTY = "phy.receiveCapacity";
+
+    /** The property enabling sending from a thread of its own. */
+    public static final String ASYNC_TRANSMIT_PROPERTY   = "phy.asyncTransmit";
+
+    /** The number of bits that an unlimited channel holds before it first
+     *  grows. */
+    private static final int   INITIAL_CAPACITY          = 1 << 16;
     // ===============================================================
 
 
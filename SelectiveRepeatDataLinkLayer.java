@@ -0,0 +1,179 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.Properties;
+import java.util.Queue;
+// =============================================================================
+
+
+// =============================================================================
+/**
+ * @file   SelectiveRepeatDataLinkLayer.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ *
+ * A sliding window data link layer that uses the Selective Repeat protocol.
+ * The receiver buffers frames that arrive out of order within its window and
+ * delivers them once the gap before them is filled.  Each acknowledgement is
+ * cumulative, followed by a bitmap of which frames after the next expected one
+ * have already been buffered, so that the sender can stop the timers of those
+ * frames.  Only a frame that times out is resent.  The window may be as large
+ * as half the number of sequence numbers.
+ */
+public class SelectiveRepeatDataLinkLayer extends WindowedDataLinkLayer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Configure the window, and then size the bitmap of buffered frames to
+     * match.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void configure (Properties properties) {
+
+        super.configure(properties);
+
+        receivedFrames = new Queue[SOURCES][];
+        selectiveAcks  = new byte[(windowSize + Byte.SIZE - 1) / Byte.SIZE];
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Buffer a data frame that falls within its source's receiving window,
+     * deliver every frame from that source now in sequence, and acknowledge.
+     * A frame from before the window has already been delivered, so it is only
+     * acknowledged again.
+     *
+     * @param from The source address of the frame.
+     * @param seq  The sequence number of the frame.
+     * @param data The data carried by the frame.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void receiveData (int from, int seq, Queue<Byte> data) {
+
+        // Each source gets a buffer the first time that it sends.
+        if (receivedFrames[from] == null) {
+            receivedFrames[from] = new Queue[sequenceSpace];
+        }
+        Queue<Byte>[] received = receivedFrames[from];
+
+        int offset = distance(expected[from], seq);
+        if (offset < windowSize) {
+
+            if (received[seq] == null) {
+                received[seq] = data;
+            }
+
+            // Deliver whatever is now in order.
+            while (received[expected[from]] != null) {
+                deliver(received[expected[from]]);
+                received[expected[from]] = null;
+                expected[from] = (expected[from] + 1) & (sequenceSpace - 1);
+            }
+
+        } else if (offset < sequenceSpace - windowSize) {
+
+            // Neither in the window nor a duplicate: ignore it.
+            Trace.record(Trace.Event.SEQUENCE_DROPPED, address, seq, from);
+            return;
+
+        }
+
+        // Mark the buffered frames following the next expected one.
+        for (int i = 0; i < windowSize; i += 1) {
+            int bit = 1 << (i % Byte.SIZE);
+            if (received[(expected[from] + i) & (sequenceSpace - 1)] != null) {
+                selectiveAcks[i / Byte.SIZE] |= bit;
+            } else {
+                selectiveAcks[i / Byte.SIZE] &= ~bit;
+            }
+        }
+        sendAck(from, expected[from], selectiveAcks);
+
+    } // receiveData ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Stop the timer of every outstanding frame that the receiver reports as
+     * already buffered.
+     *
+     * @param next  The sequence number cumulatively acknowledged as next
+     *              expected.
+     * @param extra The bitmap of buffered frames following <code>next</code>.
+     */
+    protected void receiveSelectiveAck (int next, Queue<Byte> extra) {
+
+        for (int i = 0; !extra.isEmpty(); i += Byte.SIZE) {
+            int bits = extra.remove() & 0xff;
+            for (int j = 0; j < Byte.SIZE; j += 1) {
+                int seq = (next + i + j) & (sequenceSpace - 1);
+                if ((bits & (1 << j)) != 0 && distance(base, seq) < outstanding) {
+                    timeouts[seq].cancel();
+                }
+            }
+        }
+
+    } // receiveSelectiveAck ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Resend only the frame that timed out.
+     *
+     * @param seq The sequence number of the frame.
+     */
+    protected void timedOut (int seq) {
+
+        resend(seq);
+
+    } // timedOut ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return half the number of sequence numbers.
+     */
+    protected int maxWindowSize () {
+
+        return sequenceSpace / 2;
+
+    } // maxWindowSize ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The sequence number of the next frame to deliver, by source address. */
+    private final int[] expected = new int[SOURCES];
+
+    /** Frames received ahead of the next expected one, by source address and
+     *  then by sequence number. */
+    private Queue<Byte>[][] receivedFrames;
+
+    /** Scratch space for the bitmap sent with each acknowledgement. */
+    private byte[] selectiveAcks;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class SelectiveRepeatDataLinkLayer
+// =============================================================================
@@ -0,0 +1,328 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A medium shared by any number of clients, on which transmissions take time
+ * and so may overlap.  A block of bits occupies the medium for its length at
+ * the configured bit rate, and is delivered to the other clients only once it
+ * has ended.  If a transmission begins while another is still on the medium,
+ * the two collide: both are abandoned, neither is delivered, and after a short
+ * jam the medium falls idle again.  The medium reports to each sender whether
+ * its transmission was carried or collided.
+ *
+ * Other clients sense a transmission only once it has propagated to them, so
+ * clients that listen before sending may still collide if they begin within
+ * the propagation delay of one another.
+ *
+ * The medium reads <code>medium.bitRate</code>, in bits per second (default
+ * 100000), and <code>medium.propagationDelay</code>, in microseconds (default
+ * 100).
+ *
+ * @file   SharedBusMedium.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class SharedBusMedium extends Medium {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Read the bit rate and propagation delay.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    protected void configure (Properties properties) {
+
+	int bitRate = DataLinkLayer.intProperty(properties, BIT_RATE_PROPERTY,
+						DEFAULT_BIT_RATE);
+	int delay   = DataLinkLayer.intProperty(properties,
+						PROPAGATION_DELAY_PROPERTY,
+						DEFAULT_PROPAGATION_DELAY);
+	if (bitRate <= 0 || delay < 0) {
+	    throw new RuntimeException("Invalid shared bus: " + bitRate +
+				       " bits/s, " + delay + " us");
+	}
+
+	bitNanos         = TimeUnit.SECONDS.toNanos(1) / bitRate;
+	propagationNanos = TimeUnit.MICROSECONDS.toNanos(delay);
+	jamNanos         = propagationNanos + JAM_BITS * bitNanos;
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a single bit, as a block of one.
+     *
+     * @param sender The client physical layer sending the bit.
+     * @param bit The value to be sent, where <code>false</code> sends a
+     *            <code>0</code> bit, and <code>true</code> sends a
+     *            <code>1</code> bit.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public void transmit (PhysicalLayer sender, boolean bit) {
+
+	transmit(sender, new long[] { bit ? 1L : 0L }, 1);
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Begin sending a block of bits from one client to the others.  If the
+     * medium is free, the block is delivered once it has ended; if another
+     * transmission is still on the medium, both collide.
+     *
+     * @param sender   The client physical layer sending the bits.
+     * @param words    The bits to be sent, packed into words.
+     * @param bitCount The number of bits to send.
+     * @throws RuntimeException if the sender is not registered with this
+     *                          medium.
+     */
+    public synchronized void transmit (PhysicalLayer sender,
+				       long[]        words,
+				       int           bitCount) {
+
+	// Only registered clients may send.
+	if (!clients.contains(sender)) {
+	    throw new RuntimeException("Unregistered sender on the medium");
+	}
+
+	long now = clock.nanoTime();
+
+	// Anything still on the medium collides with this transmission.
+	if (now < busyUntil) {
+	    collisions += 1;
+	    if (current != null) {
+		current.collided = true;
+		current.sender.transmissionEnded(false);
+		current = null;
+	    }
+	    sender.transmissionEnded(false);
+	    busyUntil = Math.max(busyUntil, now + jamNanos);
+	    Trace.record(Trace.Event.COLLISION, -1);
+	    return;
+	}
+
+	// Otherwise, the medium is this transmission's until it ends.  The
+	// previous transmission has ended, even if it has yet to be delivered,
+	// and will be delivered when its time comes.
+	Transmission transmission = new Transmission(sender, words, bitCount);
+	current   = transmission;
+	busySince = now;
+	busyUntil = now + bitCount * bitNanos;
+	if (clock instanceof Simulation) {
+	    ((Simulation)clock).schedule(busyUntil - now,
+					 () -> finish(transmission));
+	} else {
+	    deliverer.schedule(() -> finish(transmission),
+			       busyUntil - now,
+			       TimeUnit.NANOSECONDS);
+	}
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether a transmission that has reached the clients is on the
+     *         medium.
+     */
+    public synchronized boolean isBusy () {
+
+	long now = clock.nanoTime();
+
+	return (now < busyUntil) && (now >= busySince + propagationNanos);
+
+    } // isBusy ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of nanoseconds until the medium will be idle.
+     */
+    public synchronized long nanosUntilIdle () {
+
+	return Math.max(0, busyUntil - clock.nanoTime());
+
+    } // nanosUntilIdle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return <code>true</code>, since every sender is told how its
+     *         transmission ended.
+     */
+    public boolean detectsCollisions () {
+
+	return true;
+
+    } // detectsCollisions ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of collisions so far.
+     */
+    public synchronized long collisions () {
+
+	return collisions;
+
+    } // collisions ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called when a transmission has ended.  Unless it collided in the
+     * meantime, deliver it to every client other than its sender, and let the
+     * sender know.  The clients are delivered to outside the medium's lock,
+     * since a client with a full receive buffer may wait for room, and to
+     * make room it may need the lock itself to sense the medium.
+     *
+     * @param transmission The transmission.
+     */
+    private void finish (Transmission transmission) {
+
+	PhysicalLayer[] receivers;
+	synchronized (this) {
+	    if (transmission.collided) {
+		return;
+	    }
+	    if (transmission == current) {
+		current = null;
+	    }
+	    receivers = clients.toArray(new PhysicalLayer[clients.size()]);
+	}
+
+	for (PhysicalLayer receiver : receivers) {
+	    if (receiver != transmission.sender) {
+		receiver.receive(transmission.words, transmission.bitCount);
+	    }
+	}
+	transmission.sender.transmissionEnded(true);
+
+    } // finish ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The number of nanoseconds that each bit occupies the medium. */
+    private long bitNanos = TimeUnit.SECONDS.toNanos(1) / DEFAULT_BIT_RATE;
+
+    /** The number of nanoseconds before a transmission can be sensed. */
+    private long propagationNanos =
+	TimeUnit.MICROSECONDS.toNanos(DEFAULT_PROPAGATION_DELAY);
+
+    /** The number of nanoseconds that the medium stays busy after a
+     *  collision. */
+    private long jamNanos = propagationNanos + JAM_BITS * bitNanos;
+
+    /** The latest transmission, until it collides or is delivered. */
+    private Transmission current;
+
+    /** When the latest transmission began. */
+    private long busySince = Long.MIN_VALUE;
+
+    /** When the medium next falls idle. */
+    private long busyUntil = Long.MIN_VALUE;
+
+    /** The number of collisions so far. */
+    private long collisions;
+
+    /** Delivers each transmission when it ends, unless the clock is a
+     *  simulation, which does so itself. */
+    private final ScheduledExecutorService deliverer =
+	Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "SharedBusMedium");
+		thread.setDaemon(true);
+		return thread;
+	    });
+
+    /** The bit rate, unless configured otherwise. */
+    public static final int    DEFAULT_BIT_RATE           = 100000;
+
+    /** The propagation delay, unless configured otherwise. */
+    public static final int    DEFAULT_PROPAGATION_DELAY  = 100;
+
+    /** The number of bit times, beyond the propagation delay, for which a
+     *  collision jams the medium. */
+    private static final int   JAM_BITS                   = 32;
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * A block of bits being sent across the medium.
+     */
+    private static final class Transmission {
+
+        Transmission (PhysicalLayer sender, long[] words, int bitCount) {
+            this.sender   = sender;
+            this.words    = words;
+            this.bitCount = bitCount;
+        }
+
+        /** The sending client. */
+        final PhysicalLayer sender;
+
+        /** The bits, packed into words. */
+        final long[]        words;
+
+        /** The number of bits. */
+        final int           bitCount;
+
+        /** Whether another transmission collided with this one.  Guarded by
+         *  the medium's lock. */
+        boolean             collided;
+
+    } // class Transmission
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class SharedBusMedium
+// =============================================================================
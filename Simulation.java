@@ -0,0 +1,262 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A discrete-event engine, which keeps virtual time and runs a whole
+ * simulation on the thread that drives it.  Events are actions scheduled for a
+ * virtual time, kept in a queue ordered by time and then by when they were
+ * scheduled; running them in order moves time forward, jumping straight from
+ * each to the next, so that a run takes only as long as the work done and not
+ * as long as the times it covers.
+ *
+ * Media schedule their deliveries here rather than on threads of their own.
+ * Data link layers have no threads: waking one schedules a run of its event
+ * loop, which steps it until it has nothing left to do, and then schedules
+ * another run for when its next timeout is due.
+ *
+ * A medium uses the engine as its clock, and must be given it before any
+ * hosts are connected.
+ *
+ * @file   Simulation.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ * @see    Medium#useClock(Clock)
+ */
+public class Simulation extends Clock {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the virtual time, in nanoseconds since the simulation began.
+     */
+    public long nanoTime () {
+
+        return now;
+
+    } // nanoTime ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Schedule an action to be run after a delay in virtual time.  Actions due
+     * at the same time run in the order in which they were scheduled.
+     *
+     * @param delayNanos The delay, in nanoseconds.
+     * @param action     The action to run.
+     */
+    public void schedule (long delayNanos, Runnable action) {
+
+        events.add(new Event(now + Math.max(0, delayNanos), sequence, action));
+        sequence += 1;
+
+    } // schedule ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run a data link layer's event loop now, once the events already due
+     * have run.
+     *
+     * @param layer The layer with work to do.
+     */
+    public void wake (DataLinkLayer layer) {
+
+        wakeAt(layer, now);
+
+    } // wake ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run every event due within a span of virtual time, in order, including
+     * any that those events schedule within it.  If events remain, time then
+     * moves to the end of the span; if none do, it stays at the last event
+     * run, when the simulation fell idle.
+     *
+     * Layers that answer each other at once over a medium that takes no time
+     * may go on doing so forever without time moving; so, having run
+     * <code>MAX_EVENTS</code> events, return early, at the time of the last,
+     * to let the caller see how things stand.
+     *
+     * @param  nanos The length of the span, in nanoseconds.
+     * @return whether any events remain.
+     */
+    public boolean advance (long nanos) {
+
+        long horizon = now + nanos;
+        int  run     = 0;
+        while (!events.isEmpty() && events.peek().time <= horizon) {
+            if (run == MAX_EVENTS) {
+                return true;
+            }
+            Event event = events.poll();
+            now = event.time;
+            event.action.run();
+            run += 1;
+        }
+        if (events.isEmpty()) {
+            return false;
+        }
+        now = horizon;
+
+        return true;
+
+    } // advance ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Schedule a run of a layer's event loop, unless one is already due no
+     * later.
+     *
+     * @param layer The layer.
+     * @param time  The virtual time at which to run it.
+     */
+    private void wakeAt (DataLinkLayer layer, long time) {
+
+        Long due = wakeTimes.get(layer);
+        if (due != null && due <= time) {
+            return;
+        }
+
+        wakeTimes.put(layer, time);
+        schedule(time - now, () -> run(layer, time));
+
+    } // wakeAt ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Step a layer's event loop until a pass accomplishes nothing, and then
+     * schedule the next run for when its next timeout is due.  A layer that
+     * is still busy after <code>MAX_STEPS</code> passes is run again later at
+     * the same time, so that a backlog without end does not keep other events
+     * from their turn.  A run that an earlier one has superseded does
+     * nothing.
+     *
+     * @param layer The layer.
+     * @param time  The virtual time for which the run was scheduled.
+     */
+    private void run (DataLinkLayer layer, long time) {
+
+        Long due = wakeTimes.get(layer);
+        if (due == null || due != time) {
+            return;
+        }
+        wakeTimes.remove(layer);
+
+        boolean busy = true;
+        for (int steps = 0; busy && steps < MAX_STEPS; steps += 1) {
+            busy = layer.step();
+        }
+        if (busy) {
+            wakeAt(layer, now);
+            return;
+        }
+
+        // A timeout that is due fires on the next pass, so wait at least a
+        // nanosecond for it, lest time never move.
+        long delay = layer.nanosUntilTimeout();
+        if (delay != Long.MAX_VALUE) {
+            wakeAt(layer, now + Math.max(1, delay));
+        }
+
+    } // run ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The virtual time, in nanoseconds. */
+    private long now;
+
+    /** The events yet to run, earliest first. */
+    private final PriorityQueue<Event> events = new PriorityQueue<Event>();
+
+    /** The number given to the next event, to break ties in time. */
+    private long sequence;
+
+    /** When each layer's event loop is next due to run. */
+    private final Map<DataLinkLayer, Long> wakeTimes =
+        new IdentityHashMap<DataLinkLayer, Long>();
+
+    /** The most events that one call to <code>advance()</code> runs. */
+    public static final int MAX_EVENTS = 1 << 12;
+
+    /** The most passes of a layer's event loop in one run. */
+    public static final int MAX_STEPS  = 1 << 8;
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * An action scheduled for a virtual time.  Events are ordered by time, and
+     * then by when they were scheduled.
+     */
+    private static final class Event implements Comparable<Event> {
+
+        Event (long time, long sequence, Runnable action) {
+            this.time     = time;
+            this.sequence = sequence;
+            this.action   = action;
+        }
+
+        public int compareTo (Event other) {
+            if (time != other.time) {
+                return (time < other.time) ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+        /** When the action is due, in virtual time. */
+        final long     time;
+
+        /** The order in which the action was scheduled. */
+        final long     sequence;
+
+        /** The action. */
+        final Runnable action;
+
+    } // class Event
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class Simulation
+// =============================================================================
@@ -1,12 +1,21 @@
 // =============================================================================
 // IMPORTS
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 // =============================================================================
@@ -37,12 +46,32 @@ public class Simulator {
     public static void main (String[] args) {
 
 	// Check the number of arguments passed.
-	if (args.length != 3) {
+	if (args.length < 3) {
 
 	    System.err.println("Usage: java Simulator "  +
 			       "<medium type> "          +
 			       "<data link layer type> " +
-			       "<transmission data file>");
+			       "<transmission data file> " +
+			       "[<properties file> | <key>=<value>]...");
+	    System.err.println("Settings include " + BATCH_PROPERTY +
+			       "=true, to run without waiting for input and " +
+			       "report throughput, and " + TIMEOUT_PROPERTY +
+			       "=<seconds>, to limit how long it waits; " +
+			       HOSTS_PROPERTY + "=<count> runs that many " +
+			       "hosts, each sending to the next, in batch; " +
+			       VIRTUAL_PROPERTY + "=true runs in batch on " +
+			       "one thread, in virtual time; " +
+			       STREAM_PROPERTY + "=true streams the file " +
+			       "between two hosts, in batch, writing what " +
+			       "arrives to " + OUTPUT_PROPERTY + "=<path> " +
+			       "if given.  Data is verified with " +
+			       DIGEST_PROPERTY + "=<algorithm> (default " +
+			       DEFAULT_DIGEST + "), and blocks of " +
+			       VERIFY_BLOCK_PROPERTY + "=<bytes> to find " +
+			       "where it went wrong.  " + Trace.LEVEL_PROPERTY +
+			       "=fault|frame|detail traces protocol events, " +
+			       "printed at the end or written to " +
+			       Trace.DUMP_PROPERTY + "=<path>.");
 	    System.exit(1);
 
 	}
@@ -52,22 +81,120 @@ public class Simulator {
 	String dataLinkLayerType = args[1];
 	String transmissionPath  = args[2];
 
-	// Create the medium, then the sender and receiver.
-	Medium medium   = Medium.create(mediumType);
-	Host   sender   = new Host(medium, dataLinkLayerType);
-	Host   receiver = new Host(medium, dataLinkLayerType);
+	// Gather the configuration, falling back on the system properties.
+	Properties properties = new Properties(System.getProperties());
+	for (int i = 3; i < args.length; i += 1) {
+	    readSetting(args[i], properties);
+	}
+
+	// Create the medium.  To run in virtual time, the medium, and through it
+	// the hosts, must take time from a simulation.
+	Medium  medium         = Medium.create(mediumType, properties);
+	boolean virtual        = DataLinkLayer.booleanProperty(properties,
+							       VIRTUAL_PROPERTY,
+							       false);
+	if (virtual) {
+	    medium.useClock(new Simulation());
+	}
+	int     timeout        = DataLinkLayer.intProperty(properties,
+							   TIMEOUT_PROPERTY,
+							   DEFAULT_TIMEOUT);
+
+	// Trace the run, if asked, in the medium's time.
+	Trace.configure(properties, medium.clock());
+
+	// Streaming, the data to be transmitted is read as it is sent, never all
+	// at once.
+	if (DataLinkLayer.booleanProperty(properties, STREAM_PROPERTY, false)) {
+	    if (properties.getProperty(HOSTS_PROPERTY) != null) {
+		throw new RuntimeException("Streaming needs exactly two hosts");
+	    }
+	    Host sender   = new Host(medium, dataLinkLayerType, properties);
+	    Host receiver = new Host(medium, dataLinkLayerType, properties);
+	    boolean match = simulateStream(medium, sender, receiver,
+					   transmissionPath,
+					   properties.getProperty(OUTPUT_PROPERTY),
+					   createVerifier(properties), timeout);
+	    finishTrace(properties);
+	    if (!match) {
+		System.exit(1);
+	    }
+	    return;
+	}
 
-	// Read the contents of the data to be transmitted into a buffer.
+	// Otherwise, read the contents of the data to be transmitted into a
+	// buffer.
 	byte[] dataToTransmit = readFile(transmissionPath);
 
+	// With a number of hosts given, have them all share the medium.
+	if (properties.getProperty(HOSTS_PROPERTY) != null) {
+	    int hosts = DataLinkLayer.intProperty(properties, HOSTS_PROPERTY, 2);
+	    boolean match = simulateShared(medium, dataLinkLayerType, properties,
+					   hosts, dataToTransmit, timeout);
+	    finishTrace(properties);
+	    if (!match) {
+		System.exit(1);
+	    }
+	    return;
+	}
+
+	// Otherwise, create the sender and receiver.
+	Host   sender   = new Host(medium, dataLinkLayerType, properties);
+	Host   receiver = new Host(medium, dataLinkLayerType, properties);
+
 	// Perform the simulation!
-	simulate(sender, receiver, dataToTransmit);
+	if (virtual ||
+	    DataLinkLayer.booleanProperty(properties, BATCH_PROPERTY, false)) {
+	    boolean match = simulateBatch(medium, sender, receiver,
+					  dataToTransmit,
+					  createVerifier(properties), timeout);
+	    finishTrace(properties);
+	    if (!match) {
+		System.exit(1);
+	    }
+	} else {
+	    simulate(sender, receiver, dataToTransmit, createVerifier(properties));
+	    finishTrace(properties);
+	}
 
     } // main
     // =========================================================================
 
 
 
+    // =========================================================================
+    /**
+     * Add a configuration setting given on the command line.  A setting is
+     * either a single <code>key=value</code> pair, or the path of a properties
+     * file whose settings are all added.
+     *
+     * @param setting    The command-line argument.
+     * @param properties The configuration to which to add.
+     */
+    private static void readSetting (String setting, Properties properties) {
+
+	// A key/value pair?
+	int equals = setting.indexOf('=');
+	if (equals > 0) {
+	    properties.setProperty(setting.substring(0, equals).trim(),
+				   setting.substring(equals + 1).trim());
+	    return;
+	}
+
+	// Otherwise, a properties file.
+	try (FileInputStream input = new FileInputStream(setting)) {
+	    properties.load(input);
+	} catch (FileNotFoundException e) {
+	    throw new RuntimeException(setting + " is not a readable file");
+	} catch (IOException e) {
+	    throw new RuntimeException("Unexpected failure in reading " + setting);
+	}
+
+    } // readSetting()
+    // =========================================================================
+
+
+
     // =========================================================================
     /**
      * Read the whole contents of a given file, returning it in a byte array.
@@ -114,14 +241,19 @@ public class Simulator {
      * @param sender   The sending host.
      * @param receiver The receiving host.
      * @param data     The data to be sent.
+     * @param verifier The check of the data received against that sent.
      */
-    private static void simulate (Host sender, Host receiver, byte[] data) {
+    private static void simulate (Host           sender,
+				  Host           receiver,
+				  byte[]         data,
+				  StreamVerifier verifier) {
 
         // Create the hosts as independent threads to perform communications.
         new Thread(receiver).start();
         new Thread(sender).start();
 
         // Provide the data to send to the sender.
+	verifier.sent(data, 0, data.length);
 	sender.send(data);
 
         System.out.printf("Press enter to receive: ");
@@ -129,15 +261,18 @@ public class Simulator {
             System.in.read();
         } catch (IOException e) {}
 	byte[] received = receiver.retrieve();
+	verifier.received(received, 0, received.length);
 
 	System.out.println("Transmission received:  " + new String(received));
-        if (Arrays.equals(data, received)) {
+        if (verifier.verify()) {
             System.out.println("Transmission match");
         } else {
             System.out.println("Transmission mismatch");
-            System.out.printf("\tsent length = %d\treceived length = %d\n",
+            System.out.printf("\tsent length = %d\treceived length = %d" +
+                              "\tdivergence = %d\n",
                               data.length,
-                              received.length);
+                              received.length,
+                              verifier.divergence());
         }
 
         receiver.stop();
@@ -147,6 +282,683 @@ public class Simulator {
     // =========================================================================
 
 
+    // =========================================================================
+    /**
+     * Perform the simulation without interaction, having the sender transmit
+     * the given data to the receiver.  Wait until the receiver has all of it,
+     * or the time runs out, and then report whether it arrived intact, how
+     * quickly, and what it cost the data link layers to get it there.
+     *
+     * @param  medium   The medium connecting the hosts.
+     * @param  sender   The sending host.
+     * @param  receiver The receiving host.
+     * @param  data     The data to be sent.
+     * @param  verifier The check of the data received against that sent.
+     * @param  timeout  The number of seconds to wait for the data to arrive.
+     * @return <code>true</code> if the data arrived complete and correct.
+     */
+    private static boolean simulateBatch (Medium         medium,
+					  Host           sender,
+					  Host           receiver,
+					  byte[]         data,
+					  StreamVerifier verifier,
+					  int            timeout) {
+
+        // Create the hosts as independent threads to perform communications,
+        // unless a simulation runs them.
+        Clock clock = medium.clock();
+        if (!(clock instanceof Simulation)) {
+            new Thread(receiver).start();
+            new Thread(sender).start();
+        }
+
+	// Provide the data to send to the sender, and verify what arrives until
+	// there is as much as was sent.
+	long    start    = clock.nanoTime();
+	long    deadline = start + TimeUnit.SECONDS.toNanos(timeout);
+	long    limit    = wallDeadline(timeout);
+	byte[]  arrivals = new byte[STREAM_CHUNK];
+	boolean live     = true;
+	boolean settled  = false;
+	Quiescence quiescence = new Quiescence(clock,
+					       new Host[] { sender, receiver });
+	verifier.sent(data, 0, data.length);
+	sender.send(data);
+	while (live && !settled && verifier.receivedLength() < data.length &&
+	       clock.nanoTime() < deadline && System.nanoTime() < limit) {
+	    live    = pause(clock);
+	    drain(receiver, arrivals, verifier);
+	    settled = quiescence.settled(verifier.receivedLength(), live);
+	}
+	long elapsed  = clock.nanoTime() - start;
+	long received = verifier.receivedLength();
+
+        receiver.stop();
+        sender.stop();
+
+	boolean match = verifier.verify();
+	if (match) {
+	    System.out.println("Transmission match");
+	} else if (settled) {
+	    System.out.printf("Transmission complete %s\n",
+			      shortBy(data.length - received));
+	} else if (received < data.length) {
+	    System.out.printf("Transmission incomplete %s\n",
+			      stopped(live, elapsed, timeout));
+	} else if (verifier.divergence() < 0) {
+	    System.out.println("Transmission mismatch");
+	} else {
+	    System.out.printf("Transmission mismatch from byte %d\n",
+			      verifier.divergence());
+	}
+
+	report(medium, new Host[] { sender, receiver }, data.length,
+	       received, match ? received : 0, elapsed);
+
+	return match;
+
+    } // simulateBatch()
+    // =========================================================================
+
+
+    // =========================================================================
+    /**
+     * Perform the simulation without interaction, with a number of hosts
+     * sharing the medium.  Host <i>i</i> sends the given data to host
+     * <i>i</i>+1, and the last to the first, all at once.  Wait until every
+     * host has received all of the data, or the time runs out, and then report
+     * how many copies arrived intact, how quickly, and at what cost.
+     *
+     * Every host hears every frame, and drops those addressed to others, but
+     * with more than two hosts the data link layer should be one that shares
+     * the medium, such as <code>CSMACD</code>.
+     *
+     * @param  medium     The medium that the hosts share.
+     * @param  type       The type of data link layer.
+     * @param  properties The configuration of the data link layers.
+     * @param  count      The number of hosts.
+     * @param  data       The data that each host sends.
+     * @param  timeout    The number of seconds to wait for the data to arrive.
+     * @return <code>true</code> if every copy of the data arrived complete and
+     *         correct.
+     * @throws RuntimeException if there are fewer than two hosts.
+     */
+    private static boolean simulateShared (Medium     medium,
+					   String     type,
+					   Properties properties,
+					   int        count,
+					   byte[]     data,
+					   int        timeout) {
+
+	if (count < 2) {
+	    throw new RuntimeException("Too few hosts: " + count);
+	}
+
+	// Create the hosts, each addressed to the next, as independent threads.
+	Host[] hosts = new Host[count];
+	for (int i = 0; i < count; i += 1) {
+	    Properties addressed = new Properties(properties);
+	    addressed.setProperty(DataLinkLayer.ADDRESS_PROPERTY,
+				  Integer.toString(i));
+	    addressed.setProperty(DataLinkLayer.DESTINATION_PROPERTY,
+				  Integer.toString((i + 1) % count));
+	    hosts[i] = new Host(medium, type, addressed);
+	}
+	Clock clock = medium.clock();
+	if (!(clock instanceof Simulation)) {
+	    for (Host host : hosts) {
+		new Thread(host).start();
+	    }
+	}
+
+	// Have every host send the data, and gather what each receives until
+	// every one has as much as was sent.
+	long                    start    = clock.nanoTime();
+	long                    deadline = start + TimeUnit.SECONDS.toNanos(timeout);
+	long                    limit    = wallDeadline(timeout);
+	byte[]                  arrivals = new byte[STREAM_CHUNK];
+	StreamVerifier[]        verifier = new StreamVerifier[count];
+	for (int i = 0; i < count; i += 1) {
+	    verifier[i] = createVerifier(properties);
+	    verifier[i].sent(data, 0, data.length);
+	}
+	for (Host host : hosts) {
+	    host.send(data);
+	}
+	int        complete   = 0;
+	boolean    live       = true;
+	boolean    settled    = false;
+	Quiescence quiescence = new Quiescence(clock, hosts);
+	while (live && !settled && complete < count &&
+	       clock.nanoTime() < deadline && System.nanoTime() < limit) {
+	    live     = pause(clock);
+	    complete = 0;
+	    long arrived = 0;
+	    for (int i = 0; i < count; i += 1) {
+		drain(hosts[i], arrivals, verifier[i]);
+		arrived += verifier[i].receivedLength();
+		if (verifier[i].receivedLength() >= data.length) {
+		    complete += 1;
+		}
+	    }
+	    settled  = quiescence.settled(arrived, live);
+	}
+	long elapsed = clock.nanoTime() - start;
+
+	for (Host host : hosts) {
+	    host.stop();
+	}
+
+	// Count the intact copies.
+	long received  = 0;
+	long delivered = 0;
+	int  matches   = 0;
+	for (int i = 0; i < count; i += 1) {
+	    received += verifier[i].receivedLength();
+	    if (verifier[i].verify()) {
+		delivered += data.length;
+		matches   += 1;
+	    }
+	}
+	if (matches == count) {
+	    System.out.printf("Transmission match at all %d hosts\n", count);
+	} else if (settled) {
+	    System.out.printf("Transmission complete at %d hosts %s\n", count,
+			      shortBy((long)count * data.length - received));
+	} else if (complete < count) {
+	    System.out.printf("Transmission incomplete at %d of %d hosts %s\n",
+			      count - complete, count,
+			      stopped(live, elapsed, timeout));
+	} else {
+	    System.out.printf("Transmission mismatch at %d of %d hosts\n",
+			      count - matches, count);
+	    for (int i = 0; i < count; i += 1) {
+		if (verifier[i].divergence() >= 0) {
+		    System.out.printf("\thost %d diverges from byte %d\n", i,
+				      verifier[i].divergence());
+		}
+	    }
+	}
+	report(medium, hosts, (long)count * data.length, received, delivered,
+	       elapsed);
+
+	return matches == count;
+
+    } // simulateShared()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Perform the simulation without interaction, streaming a file from the
+     * sender to the receiver so that neither end holds more than a little of
+     * it.  The file is read in chunks, each sent once the sender has framed
+     * nearly all of the one before; what arrives is verified, and written to
+     * an output file if one is given, as it is retrieved.  Then report as a
+     * batch run does.
+     *
+     * @param  medium     The medium connecting the hosts.
+     * @param  sender     The sending host.
+     * @param  receiver   The receiving host.
+     * @param  path       The pathname of the file to send.
+     * @param  outputPath The pathname of the file to which to write what
+     *                    arrives, or <code>null</code> to discard it.
+     * @param  verifier   The check of the data received against that sent.
+     * @param  timeout    The number of seconds to wait for the data to arrive.
+     * @return <code>true</code> if the data arrived complete and correct.
+     */
+    private static boolean simulateStream (Medium         medium,
+					   Host           sender,
+					   Host           receiver,
+					   String         path,
+					   String         outputPath,
+					   StreamVerifier verifier,
+					   int            timeout) {
+
+	// Does the path name a readable file?
+	File file = new File(path);
+	if (!file.canRead()) {
+	    throw new RuntimeException(path + " is not a readable file");
+	}
+
+        // Create the hosts as independent threads to perform communications,
+        // unless a simulation runs them.
+        Clock clock = medium.clock();
+        if (!(clock instanceof Simulation)) {
+            new Thread(receiver).start();
+            new Thread(sender).start();
+        }
+
+	// Keep the sender a chunk ahead of what it has framed, and drain the
+	// receiver into the output, until as much has arrived as there is to
+	// send.
+	long    length   = file.length();
+	byte[]  chunk    = new byte[STREAM_CHUNK];
+	byte[]  arrivals = new byte[STREAM_CHUNK];
+	long    start    = clock.nanoTime();
+	long    deadline = start + TimeUnit.SECONDS.toNanos(timeout);
+	long    limit    = wallDeadline(timeout);
+	boolean live     = true;
+	boolean settled  = false;
+	Quiescence quiescence = new Quiescence(clock,
+					       new Host[] { sender, receiver });
+	try (FileChannel input  = FileChannel.open(file.toPath(),
+						   StandardOpenOption.READ);
+	     FileChannel output = (outputPath == null) ? null :
+		 FileChannel.open(Paths.get(outputPath),
+				  StandardOpenOption.WRITE,
+				  StandardOpenOption.CREATE,
+				  StandardOpenOption.TRUNCATE_EXISTING)) {
+
+	    while (live && !settled && verifier.receivedLength() < length &&
+		   clock.nanoTime() < deadline && System.nanoTime() < limit) {
+
+		while (verifier.sentLength() < length &&
+		       sender.backlog() < STREAM_CHUNK) {
+		    int n = input.read(ByteBuffer.wrap(chunk));
+		    if (n <= 0) {
+			break;
+		    }
+		    verifier.sent(chunk, 0, n);
+		    sender.send(chunk, 0, n);
+		}
+
+		// A simulation falls idle once the sender has framed and
+		// delivered all it was given, but there may be more to send.
+		live = pause(clock) || (verifier.sentLength() < length &&
+					sender.backlog() == 0);
+
+		int n;
+		while ((n = receiver.retrieve(arrivals, 0, arrivals.length)) > 0) {
+		    verifier.received(arrivals, 0, n);
+		    if (output != null) {
+			ByteBuffer written = ByteBuffer.wrap(arrivals, 0, n);
+			while (written.hasRemaining()) {
+			    output.write(written);
+			}
+		    }
+		}
+
+		// Once the whole file has been given to the sender, the hosts
+		// may settle short of it.
+		settled = verifier.sentLength() == length &&
+			  quiescence.settled(verifier.receivedLength(), live);
+
+	    }
+
+	} catch (IOException e) {
+	    throw new RuntimeException("Unexpected failure in streaming " + path);
+	} finally {
+	    receiver.stop();
+	    sender.stop();
+	}
+	long elapsed  = clock.nanoTime() - start;
+	long received = verifier.receivedLength();
+
+	boolean match = verifier.verify();
+	if (match) {
+	    System.out.println("Transmission match");
+	} else if (settled) {
+	    System.out.printf("Transmission complete %s\n",
+			      shortBy(length - received));
+	} else if (received < length) {
+	    System.out.printf("Transmission incomplete %s\n",
+			      stopped(live, elapsed, timeout));
+	} else if (verifier.divergence() < 0) {
+	    System.out.println("Transmission mismatch");
+	} else {
+	    System.out.printf("Transmission mismatch from byte %d\n",
+			      verifier.divergence());
+	}
+
+	report(medium, new Host[] { sender, receiver }, length, received,
+	       match ? received : 0, elapsed);
+
+	return match;
+
+    } // simulateStream()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Once a run is over, print the events traced, or dump them to a file if
+     * one is given.  Does nothing unless tracing.
+     *
+     * @param properties The configuration.
+     */
+    private static void finishTrace (Properties properties) {
+
+	if (!Trace.enabled()) {
+	    return;
+	}
+
+	String path = properties.getProperty(Trace.DUMP_PROPERTY);
+	if (path == null) {
+	    Trace.print(System.out);
+	    return;
+	}
+	try (DataOutputStream output =
+	     new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+	    Trace.dump(output);
+	} catch (IOException e) {
+	    throw new RuntimeException("Unexpected failure in writing " + path);
+	}
+
+    } // finishTrace()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the check of a run's data, as configured.
+     *
+     * @param  properties The configuration.
+     * @return the verifier.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    private static StreamVerifier createVerifier (Properties properties) {
+
+	return new StreamVerifier(properties.getProperty(DIGEST_PROPERTY,
+							 DEFAULT_DIGEST),
+				  DataLinkLayer.intProperty(properties,
+							    VERIFY_BLOCK_PROPERTY,
+							    DEFAULT_VERIFY_BLOCK));
+
+    } // createVerifier()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Retrieve everything that a host has buffered, through scratch space,
+     * and account for it as received.
+     *
+     * @param host     The receiving host.
+     * @param scratch  The array through which to retrieve the bytes.
+     * @param verifier The check of the data received.
+     */
+    private static void drain (Host           host,
+			       byte[]         scratch,
+			       StreamVerifier verifier) {
+
+	int n;
+	while ((n = host.retrieve(scratch, 0, scratch.length)) > 0) {
+	    verifier.received(scratch, 0, n);
+	}
+
+    } // drain()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Describe why a batch run stopped before all of the data arrived.
+     *
+     * @param  live    Whether anything more might still have arrived, as
+     *                 last returned by <code>pause()</code>.
+     * @param  elapsed The number of nanoseconds that the run took.
+     * @param  timeout The number of seconds for which the run could go on.
+     * @return a description: that the simulation ran out of events, and
+     *         when, if it did; otherwise, that the run timed out.
+     */
+    private static String stopped (boolean live, long elapsed, int timeout) {
+
+	if (!live) {
+	    return String.format("once the simulation went idle at %.3f ms",
+				 elapsed / 1e6);
+	}
+
+	return String.format("after %d s", timeout);
+
+    } // stopped()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Describe a batch run that ended, with every host idle, before all of
+     * the data arrived.
+     *
+     * @param  shortfall The number of bytes that never arrived.
+     * @return a description of the shortfall.
+     */
+    private static String shortBy (long shortfall) {
+
+	return String.format("once every host went idle, %d bytes short",
+			     shortfall);
+
+    } // shortBy()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine when a batch run must end in real time, whatever the clock of
+     * its medium: a run in virtual time may not take longer than it would
+     * take in real time, even if its time stands still.
+     *
+     * @param  timeout The number of seconds for which the run may go on.
+     * @return the latest time, from <code>System.nanoTime()</code>, at which
+     *         it may still go on.
+     */
+    private static long wallDeadline (int timeout) {
+
+	return System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+
+    } // wallDeadline()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Let a batch run's interval between checks for arrivals pass: in real
+     * time, by sleeping while the hosts' threads work; in virtual time, by
+     * running the simulation through it.
+     *
+     * @param  clock The clock of the medium.
+     * @return whether anything more may arrive.  Only a simulation with no
+     *         events left can be sure that nothing will.
+     */
+    private static boolean pause (Clock clock) {
+
+	if (clock instanceof Simulation) {
+	    return ((Simulation)clock).advance(POLL_INTERVAL);
+	}
+	LockSupport.parkNanos(POLL_INTERVAL);
+
+	return true;
+
+    } // pause()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Report the outcome of a batch simulation.
+     *
+     * @param medium    The medium connecting the hosts.
+     * @param hosts     The hosts.
+     * @param sent      The number of bytes sent, in all.
+     * @param received  The number of bytes received, in all.
+     * @param delivered The number of bytes received in intact copies of the
+     *                  data.
+     * @param elapsed   The number of nanoseconds taken, in virtual time if
+     *                  the medium's clock is a simulation.
+     */
+    private static void report (Medium medium,
+				Host[] hosts,
+				long   sent,
+				long   received,
+				long   delivered,
+				long   elapsed) {
+
+	long framesSent      = 0;
+	long retransmissions = 0;
+	long damagedFrames   = 0;
+	long abandonedFrames = 0;
+	for (Host host : hosts) {
+	    DataLinkLayer layer  = host.dataLinkLayer();
+	    framesSent          += layer.framesSent();
+	    retransmissions     += layer.retransmissions();
+	    damagedFrames       += layer.damagedFrames();
+	    abandonedFrames     += layer.abandonedFrames();
+	}
+
+	double seconds = elapsed / 1e9;
+	System.out.printf("\tsent length     = %d\n",       sent);
+	System.out.printf("\treceived length = %d\n",       received);
+	System.out.printf((medium.clock() instanceof Simulation)
+			  ? "\tvirtual time    = %.3f ms\n"
+			  : "\twall time       = %.3f ms\n", elapsed / 1e6);
+	if (elapsed > 0) {
+	    System.out.printf("\tgoodput         = %.1f bytes/sec\n",
+			      delivered / seconds);
+	} else {
+	    System.out.println("\tgoodput         = n/a (no time passed)");
+	}
+	System.out.printf("\tframes sent     = %d\n",       framesSent);
+	System.out.printf("\tretransmissions = %d\n",       retransmissions);
+	System.out.printf("\tdamaged frames  = %d\n",       damagedFrames);
+	if (abandonedFrames > 0) {
+	    System.out.printf("\tabandoned       = %d\n",       abandonedFrames);
+	}
+	if (medium instanceof SharedBusMedium) {
+	    System.out.printf("\tcollisions      = %d\n",
+			      ((SharedBusMedium)medium).collisions());
+	}
+
+    } // report()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The property that runs the simulation without interaction. */
+    public static final String  BATCH_PROPERTY   = "sim.batch";
+
+    /** The property giving a number of hosts to share the medium. */
+    public static final String  HOSTS_PROPERTY   = "sim.hosts";
+
+    /** The property that runs a batch simulation on one thread, in virtual
+     *  time. */
+    public static final String  VIRTUAL_PROPERTY = "sim.virtual";
+
+    /** The property that streams the file between two hosts, in batch. */
+    public static final String  STREAM_PROPERTY  = "sim.stream";
+
+    /** The property giving a file to which a streaming run writes what
+     *  arrives. */
+    public static final String  OUTPUT_PROPERTY  = "sim.output";
+
+    /** The property giving the message digest that verifies the data. */
+    public static final String  DIGEST_PROPERTY  = "sim.digest";
+
+    /** The property giving the size of the blocks checked to find where the
+     *  data went wrong, or 0 to check only the whole. */
+    public static final String  VERIFY_BLOCK_PROPERTY = "sim.verifyBlock";
+
+    /** The message digest, unless configured otherwise. */
+    public static final String  DEFAULT_DIGEST   = "SHA-256";
+
+    /** The size of the blocks checked, unless configured otherwise. */
+    public static final int     DEFAULT_VERIFY_BLOCK = 1 << 12;
+
+    /** The property giving how many seconds a batch run waits for the data. */
+    public static final String  TIMEOUT_PROPERTY = "sim.timeout";
+
+    /** How many seconds a batch run waits for the data, unless configured
+     *  otherwise. */
+    public static final int     DEFAULT_TIMEOUT  = 60;
+
+    /** How many nanoseconds a batch run waits between checks for arrivals. */
+    private static final long   POLL_INTERVAL    = 100_000;
+
+    /** How many nanoseconds every host must stay idle, with nothing arriving,
+     *  for a batch run to end short of its data: long enough for the last
+     *  blocks sent to cross the medium and be decoded. */
+    private static final long   SETTLE_TIME      = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** How many bytes a streaming run reads, and a batch run retrieves, at a
+     *  time. */
+    private static final int    STREAM_CHUNK     = 1 << 16;
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * A watch on the hosts of a batch run for their having settled: every one
+     * idle, with nothing arriving, for <code>SETTLE_TIME</code>, or when a
+     * simulation has run out of events.  After that no more will arrive, as
+     * when a layer without acknowledgements has lost frames, so the run may
+     * end without waiting out its timeout.
+     */
+    private static final class Quiescence {
+
+        Quiescence (Clock clock, Host[] hosts) {
+            this.clock = clock;
+            this.hosts = hosts;
+        }
+
+        /**
+         * @param  received The number of bytes received so far, in all.
+         * @param  live     Whether anything more might still arrive, as last
+         *                  returned by <code>pause()</code>.
+         * @return whether the hosts have settled.
+         */
+        boolean settled (long received, boolean live) {
+            if (!live) {
+                return idle();
+            }
+            long now = clock.nanoTime();
+            if (received != this.received || !idle()) {
+                this.received = received;
+                since         = now;
+                return false;
+            }
+            return now - since >= SETTLE_TIME;
+        }
+
+        /**
+         * @return whether every host has nothing left to send.
+         */
+        private boolean idle () {
+            for (Host host : hosts) {
+                if (!host.dataLinkLayer().idle()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** The clock of the run. */
+        private final Clock  clock;
+
+        /** The hosts. */
+        private final Host[] hosts;
+
+        /** The number of bytes received when last checked. */
+        private long         received = -1;
+
+        /** When the hosts were last seen busy, or data arriving. */
+        private long         since;
+
+    } // class Quiescence
+    // =========================================================================
+
+
 
 // =============================================================================
 } // class Simulator
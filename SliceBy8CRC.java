@@ -0,0 +1,165 @@
+// =============================================================================
+/**
+ * A CRC computed with the slice-by-8 method: eight 256-entry tables, where
+ * table <i>k</i> gives the effect of a byte followed by <i>k</i> zero bytes, so
+ * that eight bytes are consumed per step with independent lookups.  Any
+ * trailing bytes are consumed one at a time.
+ *
+ * @file   SliceBy8CRC.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class SliceBy8CRC extends CRC {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a CRC with the given parameters.
+     *
+     * @param width      The number of bits in a check value: 16 or 32.
+     * @param polynomial The generator polynomial, unreflected, without its
+     *                   leading term.
+     * @param initial    The initial value of the check register.
+     * @param reflected  Whether bytes enter the register least significant
+     *                   bit first.
+     * @param finalXor   The value with which to XOR the final register.
+     */
+    public SliceBy8CRC (int     width,
+                        int     polynomial,
+                        int     initial,
+                        boolean reflected,
+                        int     finalXor) {
+
+        this.width     = width;
+        this.mask      = (width == 32) ? -1 : (1 << width) - 1;
+        this.initial   = initial & mask;
+        this.reflected = reflected;
+        this.finalXor  = finalXor & mask;
+
+        // Extend each table from the one before by a zero byte.
+        int shift = width - 8;
+        tables    = new int[8][];
+        tables[0] = byteTable(width, polynomial, reflected);
+        for (int k = 1; k < 8; k += 1) {
+            tables[k] = new int[256];
+            for (int b = 0; b < 256; b += 1) {
+                int crc = tables[k - 1][b];
+                tables[k][b] = reflected
+                    ? (crc >>> 8) ^ tables[0][crc & 0xff]
+                    : ((crc << 8) ^ tables[0][(crc >>> shift) & 0xff]) & mask;
+            }
+        }
+
+    } // SliceBy8CRC ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int width () {
+
+        return width;
+
+    } // width ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int start () {
+
+        return initial;
+
+    } // start ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int update (int crc, byte[] data, int offset, int length) {
+
+        int[] t0 = tables[0], t1 = tables[1], t2 = tables[2], t3 = tables[3];
+        int[] t4 = tables[4], t5 = tables[5], t6 = tables[6], t7 = tables[7];
+        int   i     = offset;
+        int   end   = offset + length;
+        int   shift = width - 8;
+
+        // The register overlaps the first width/8 bytes of each block: the
+        // low bytes for a reflected CRC, the high bytes otherwise.
+        int align = reflected ? 0 : 32 - width;
+        for (; i + 8 <= end; i += 8) {
+            int x = crc << align;
+            int b0, b1, b2, b3;
+            if (reflected) {
+                b0 = (data[i]     ^ x)         & 0xff;
+                b1 = (data[i + 1] ^ (x >>> 8))  & 0xff;
+                b2 = (data[i + 2] ^ (x >>> 16)) & 0xff;
+                b3 = (data[i + 3] ^ (x >>> 24)) & 0xff;
+            } else {
+                b0 = (data[i]     ^ (x >>> 24)) & 0xff;
+                b1 = (data[i + 1] ^ (x >>> 16)) & 0xff;
+                b2 = (data[i + 2] ^ (x >>> 8))  & 0xff;
+                b3 = (data[i + 3] ^ x)         & 0xff;
+            }
+            crc = t7[b0] ^ t6[b1] ^ t5[b2] ^ t4[b3] ^
+                  t3[data[i + 4] & 0xff] ^ t2[data[i + 5] & 0xff] ^
+                  t1[data[i + 6] & 0xff] ^ t0[data[i + 7] & 0xff];
+        }
+
+        // Finish a byte at a time.
+        if (reflected) {
+            for (; i < end; i += 1) {
+                crc = (crc >>> 8) ^ t0[(crc ^ data[i]) & 0xff];
+            }
+        } else {
+            for (; i < end; i += 1) {
+                crc = (crc << 8) ^ t0[((crc >>> shift) ^ data[i]) & 0xff];
+            }
+        }
+
+        return crc;
+
+    } // update ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int finish (int crc) {
+
+        return (crc ^ finalXor) & mask;
+
+    } // finish ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The number of bits in a check value. */
+    private final int     width;
+
+    /** The bits of the register that are in use. */
+    private final int     mask;
+
+    /** The initial value of the register. */
+    private final int     initial;
+
+    /** Whether bytes enter the register least significant bit first. */
+    private final boolean reflected;
+
+    /** The value with which to XOR the final register. */
+    private final int     finalXor;
+
+    /** Table k gives the register after a byte and then k zero bytes. */
+    private final int[][] tables;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class SliceBy8CRC
+// =============================================================================
@@ -2,10 +2,9 @@
 // IMPORTS
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Queue;
-import java.util.Date;
+import java.util.concurrent.TimeUnit;
 // =============================================================================
 
 
@@ -46,12 +45,12 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
     else
         idAsByte = (byte) '3';
     data.add(idAsByte);
-    System.out.println("Sending Frame # " + id);
+    Trace.record(Trace.Event.SEQUENCE_SENT, address, id);
     this.id = (this.id+1)%4;
 
 
-	// Calculate the parity.
-	byte parity = calculateParity(data);
+	// Calculate the parity, over the header too.
+	byte parity = calculateParity(withHeader(header(destination), data));
 	
 	// Begin with the start tag.
 	Queue<Byte> framingData = new LinkedList<Byte>();
@@ -100,77 +99,30 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
      */
     protected Queue<Byte> processFrame () {
 
-	// Search for a start tag.  Discard anything prior to it.
-	boolean        startTagFound = false;
-	Iterator<Byte>             i = receiveBuffer.iterator();
-	while (!startTagFound && i.hasNext()) {
-	    byte current = i.next();
-	    if (current != startTag) {
-		i.remove();
-	    } else {
-		startTagFound = true;
-	    }
-	}
-
-	// If there is no start tag, then there is no frame.
-	if (!startTagFound) {
+	// Consume received bytes until a whole frame has been extracted.
+	if (!frameDecoder.decode(receiveBuffer)) {
 	    return null;
 	}
-	
-	// Try to extract data while waiting for an unescaped stop tag.
-        int                       index = 1;
-	LinkedList<Byte> extractedBytes = new LinkedList<Byte>();
-	boolean            stopTagFound = false;
-	while (!stopTagFound && i.hasNext()) {
-
-	    // Grab the next byte.  If it is...
-	    //   (a) An escape tag: Skip over it and grab what follows as
-	    //                      literal data.
-	    //   (b) A stop tag:    Remove all processed bytes from the buffer and
-	    //                      end extraction.
-	    //   (c) A start tag:   All that precedes is damaged, so remove it
-	    //                      from the buffer and restart extraction.
-	    //   (d) Otherwise:     Take it as literal data.
-	    byte current = i.next();
-            index += 1;
-	    if (current == escapeTag) {
-		if (i.hasNext()) {
-		    current = i.next();
-                    index += 1;
-		    extractedBytes.add(current);
-		} else {
-		    // An escape was the last byte available, so this is not a
-		    // complete frame.
-		    return null;
-		}
-	    } else if (current == stopTag) {
-		cleanBufferUpTo(index);
-		stopTagFound = true;
-	    } else if (current == startTag) {
-		cleanBufferUpTo(index - 1);
-                index = 1;
-		extractedBytes = new LinkedList<Byte>();
-	    } else {
-		extractedBytes.add(current);
-	    }
-
-	}
 
-	// If there is no stop tag, then the frame is incomplete.
-	if (!stopTagFound) {
+	// A frame too short to hold an id and a parity byte was damaged,
+	// perhaps by a flipped bit that forged a stop tag, or by erased bytes.
+	if (frameDecoder.length() < 2) {
+	    frameReceived(frameDecoder.framedLength(), true);
 	    return null;
 	}
-
-	if (debug) {
-	    System.out.println("SlidingWindowsDataLinkLayer.processFrame(): Got whole frame!");
+	LinkedList<Byte> extractedBytes = new LinkedList<Byte>();
+	byte[]           frame          = frameDecoder.frame();
+	for (int i = 0; i < frameDecoder.length(); i += 1) {
+	    extractedBytes.add(frame[i]);
 	}
 
     // The last byte inside the frame is the parity.  Compare it to a
     // recalculation.
     byte receivedParity   = extractedBytes.remove(extractedBytes.size() - 1);
-    byte calculatedParity = calculateParity(extractedBytes);
+    byte calculatedParity = calculateParity(withHeader(frameDecoder.header(),
+                                                       extractedBytes));
+    frameReceived(frameDecoder.framedLength(), receivedParity != calculatedParity);
     if (receivedParity != calculatedParity) {
-        System.out.printf("SlidingWindowsDataLinkLayer.processFrame():\tDamaged frame\n");
         return null;
     }
 
@@ -178,40 +130,39 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
     // The second to last byte is the id of the frame. If it does not fall within the window
     // of acceptable IDs then return null
     byte receivedID = extractedBytes.remove(extractedBytes.size() - 1);
-    System.out.printf("Received ID # %c\n",receivedID);
     byte idAsByte;
     int ident;
     int receivedIDasInt = (int)Character.getNumericValue(receivedID);
+    Trace.record(Trace.Event.SEQUENCE_RECEIVED, address, receivedIDasInt);
     if (leadingHand<trailingHand){
         if (!( (receivedIDasInt >= trailingHand) ||
                (receivedIDasInt == leadingHand)  ||
                (receivedIDasInt == 0))){
 
-            System.out.printf("SlidingWindowsDataLinkLayer.processFrame():\tWrong ID\n");
-            System.out.println("Expecting ID between" + trailingHand + " and " + leadingHand);
+            Trace.record(Trace.Event.SEQUENCE_DROPPED, address, receivedIDasInt,
+                         source());
             return null;
         }
     } else if (leadingHand>trailingHand){
         if (!( (receivedIDasInt >= trailingHand) ||
                (receivedIDasInt <= leadingHand))      ){
 
-            System.out.printf("SlidingWindowsDataLinkLayer.processFrame():\tWrong ID\n");
-            System.out.println("Expecting IDs between " + trailingHand + " and " + leadingHand);
+            Trace.record(Trace.Event.SEQUENCE_DROPPED, address, receivedIDasInt,
+                         source());
             return null;
         }
     } else{
         if ((receivedIDasInt < trailingHand) || 
             ( (receivedIDasInt == 3 || receivedIDasInt == 2)
              && (trailingHand==0))){
-            System.out.printf("SlidingWindowsDataLinkLayer.processFrame():\tWrong ID\n");
-            System.out.println("Expecting ID # " + trailingHand);
+            Trace.record(Trace.Event.SEQUENCE_DROPPED, address, receivedIDasInt,
+                         source());
             sendACK(receivedID);
-            System.out.printf("Re-Sending ACK # %c\n",receivedID);
+            Trace.record(Trace.Event.ACK_RESENT, address, receivedIDasInt);
             return null;
         } else if (receivedIDasInt > trailingHand){
-            System.out.printf("SlidingWindowsDataLinkLayer.processFrame():\tWrong ID\n");
-            System.out.println("Expecting ID # " + trailingHand);
-            System.out.println("Dropping Frame");
+            Trace.record(Trace.Event.SEQUENCE_DROPPED, address, receivedIDasInt,
+                         source());
             return null;
         }
     }
@@ -228,13 +179,13 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
      * @param frame The framed data that was transmitted.
      */ 
     protected void finishFrameSend (Queue<Byte> frame) {
-        Date d = new Date();
     	
         // Stores this frame in case it needs to be resent
-        this.reSend.add(convertQueuetoLL(frame));
+        LinkedList<Byte> sent = convertQueuetoLL(frame);
+        this.reSend.add(sent);
         
-        // Grabs the timestamp of when this frame was sent 
-    	this.timeSinceSent.add(d.getTime());
+        // Gives this frame its own timer, in case no ACK arrives for it
+    	this.reSendTimeouts.add(timers.schedule(timeoutNanos(), () -> resendFrame(sent)));
 
         // Reports that the host is waiting for acknowledgement
     	this.lookingForACKs = true;
@@ -257,11 +208,11 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
         // queued up frame from the resend queue. 
         if (this.lookingForACKs){
             this.trailingHand = (this.trailingHand+1)%4;
-            this.reSend.remove();
+            frameSizer.frameAcknowledged(framedLength(this.reSend.remove()));
             if (this.resending == true && this.reSend.isEmpty())
                 this.resending = false;
-            this.timeSinceSent.remove();
-            if(this.reSend.isEmpty() && this.sendBuffer.isEmpty())
+            this.reSendTimeouts.remove().cancel();
+            if(this.reSend.isEmpty() && !this.hasDataToSend())
                 this.lookingForACKs = false;
         } 
 
@@ -293,7 +244,7 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
 
             // Receiver moves trailing hand upon sending ACK
             this.trailingHand = (this.trailingHand+1)%4;
-            System.out.printf("Sending ACK # %c\n",ack);
+            Trace.record(Trace.Event.ACK_SENT, address, ack - '0');
             this.id = (this.id+1)%4;
 
 	    }
@@ -308,26 +259,77 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
      * time has passed since some kind of response is expected. 
      */
     protected void checkTimeout () {
-    	long now;
-    	Date d = new Date();
-        LinkedList<Byte> r = new LinkedList<Byte>();
-        if(!this.reSend.isEmpty()){
-            now = d.getTime();
-            if ( now - timeSinceSent.peek() >= timeoutTime){
-                this.resending = true;
-                this.timeSinceSent.remove();
-                this.timeSinceSent.addFirst(now);
-                for(Byte x : this.reSend.peek()){
-                    r.add(x);
-                }
-                transmit(convertLLtoQueue(this.reSend.peek()));
-                this.reSend.remove();
-                this.reSend.addFirst(r);
-                System.out.println("Re-Sent Frame");
-            }
+        // Nothing to poll: each frame's resend is scheduled on the timer
+        // wheel when it is sent, and fires in resendFrame().
+    } // checkTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether there is nothing left to send and no frame awaiting
+     *         acknowledgement.
+     */
+    public boolean idle () {
+        return super.idle() && !lookingForACKs;
+    } // idle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return <code>true</code>: every frame is acknowledged, or resent.
+     */
+    protected boolean acknowledges () {
+        return true;
+    } // acknowledges ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the timer wheel when a frame awaiting acknowledgement has
+     * timed out.  Resends the frame and restarts its timer.
+     *
+     * @param frame The frame to resend, as stored in the resend queue.
+     */
+    private void resendFrame (LinkedList<Byte> frame) {
+        this.resending = true;
+        frameSizer.frameTimedOut(framedLength(frame));
+        retransmit(frame);
+
+        // The frame's timer is at the same position as the frame itself
+        for (int i = 0; i < this.reSend.size(); i += 1) {
+            if (this.reSend.get(i) == frame)
+                timers.reschedule(this.reSendTimeouts.get(i), timeoutNanos());
         }
+    } // resendFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the timeout as a number of nanoseconds.
+     */
+    private long timeoutNanos () {
+        return TimeUnit.MILLISECONDS.toNanos((long)timeoutTime);
+    } // timeoutNanos ()
+    // =========================================================================
+
+
 
-    } // checkTimeout ()
+    // =========================================================================
+    /**
+     * @param  frame A frame as sent, without its header.
+     * @return the number of bytes that the frame occupies with its header.
+     */
+    private static int framedLength (Queue<Byte> frame) {
+        return frame.size() + FrameDecoder.HEADER_LENGTH;
+    } // framedLength ()
     // =========================================================================
 
 
@@ -341,7 +343,7 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
     protected void sendACK(byte identify){
         Queue<Byte> data = new LinkedList<Byte>();
         data.add(identify);
-        byte parity = calculateParity(data);
+        byte parity = calculateParity(withHeader(header(source()), data));
 
         //Create a frame containing just the ID of the ACK
         Queue<Byte> framedACK = new LinkedList<Byte>();
@@ -350,8 +352,8 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
         framedACK.add(parity);
         framedACK.add(stopTag);
 
-        // Send the ACK
-        transmit(framedACK);
+        // Send the ACK back to the frame's source
+        transmit(framedACK, source());
 
     } // sendACK ()
     // =========================================================================
@@ -410,44 +412,6 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
     
 
 
-    // =========================================================================
-    /**
-     * Remove a leading number of elements from the receive buffer.
-     *
-     * @param index The index of the position up to which the bytes are to be
-     *              removed.
-     */
-    private void cleanBufferUpTo (int index) {
-
-        for (int i = 0; i < index; i += 1) {
-            receiveBuffer.remove();
-	}
-
-    } // cleanBufferUpTo ()
-    // =========================================================================
-
-
-    // =========================================================================
-    /**
-     * I wanted to store frames to be resent in a queue of byte queues but was 
-     * unable to figure out how/ dont think you can, so I stored them in a 
-     * linked list of byte linked lists and wrote this to convert the byte linked lists
-     * into queues so they can be used by the transmit() method. 
-     *
-     * @param frame A frame to be converted from LL to Queue
-     * @return The frame in Queue form
-     */
-    private Queue<Byte> convertLLtoQueue(LinkedList<Byte> frame){
-        Queue<Byte> f = new LinkedList<Byte>();
-
-        while(!frame.isEmpty()){
-            f.add(frame.remove());
-        }
-        return f;
-    } // convertLLtoQueue()
-    // =========================================================================
-
-
     // =========================================================================
     /**
      * I wanted to store frames to be resent in a queue of byte queues but was 
@@ -484,8 +448,9 @@ public class SlidingWindowsDataLinkLayer extends DataLinkLayer {
     /** True if host has yet to receive ACK */
     private boolean lookingForACKs = false;
 
-    /** How long it has been since sending a frame */
-    private LinkedList<Long> timeSinceSent = new LinkedList<Long>();
+    /** The pending resend of each frame awaiting acknowledgement, in the
+      * same order as reSend */
+    private LinkedList<TimerWheel.Timeout> reSendTimeouts = new LinkedList<TimerWheel.Timeout>();
 
     /** The most recently sent frames, stored in case of resend */
     private LinkedList<LinkedList<Byte>> reSend = new LinkedList<LinkedList<Byte>>();
@@ -0,0 +1,328 @@
+// =============================================================================
+// IMPORTS
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A check that a stream of bytes arrived as it was sent, made as the bytes
+ * pass rather than by comparing copies of the whole at the end.  Each end of
+ * the stream is hashed with a message digest, such as SHA-256; the stream
+ * arrived intact if both ends are as long and their digests are equal.
+ *
+ * To find where a damaged stream first went wrong, each end is also cut into
+ * blocks of a fixed size, each given a CRC-32C.  The checksums of blocks that
+ * one end has finished but the other has not yet are queued, and compared as
+ * the other catches up, so that only the lag between the ends is kept, not
+ * the stream.  The first block whose checksums differ gives the divergence to
+ * within a block; a stream that is merely short diverges where it ends.
+ *
+ * @file   StreamVerifier.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class StreamVerifier {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a verifier.
+     *
+     * @param  algorithm The name of the message digest for the whole stream.
+     * @param  blockSize The number of bytes in each checksummed block, or 0 to
+     *                   check only the whole stream.
+     * @throws RuntimeException if the digest is unknown or the block size is
+     *                          negative.
+     */
+    public StreamVerifier (String algorithm, int blockSize) {
+
+        if (blockSize < 0) {
+            throw new RuntimeException("Invalid block size: " + blockSize);
+        }
+
+        this.sent      = new End(digest(algorithm));
+        this.received  = new End(digest(algorithm));
+        this.blockSize = blockSize;
+
+    } // StreamVerifier ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Account for bytes sent.
+     *
+     * @param data   The array holding the bytes.
+     * @param offset The index in <code>data</code> of the first byte.
+     * @param length The number of bytes.
+     */
+    public void sent (byte[] data, int offset, int length) {
+
+        update(sent, received, data, offset, length);
+
+    } // sent ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Account for bytes received.
+     *
+     * @param data   The array holding the bytes.
+     * @param offset The index in <code>data</code> of the first byte.
+     * @param length The number of bytes.
+     */
+    public void received (byte[] data, int offset, int length) {
+
+        update(received, sent, data, offset, length);
+
+    } // received ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes sent so far.
+     */
+    public long sentLength () {
+
+        return sent.length;
+
+    } // sentLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of bytes received so far.
+     */
+    public long receivedLength () {
+
+        return received.length;
+
+    } // receivedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Finish both ends, comparing their digests, and their last blocks if
+     * both are partial and as long.  No more bytes may be accounted for
+     * afterwards.
+     *
+     * @return whether the bytes received are exactly those sent.
+     */
+    public boolean verify () {
+
+        if (!finished) {
+            finished = true;
+            if (sent.length == received.length &&
+                sent.length % Math.max(1, blockSize) != 0) {
+                endBlock(sent, received);
+                endBlock(received, sent);
+            }
+            match = (sent.length == received.length &&
+                     Arrays.equals(sent.digest.digest(),
+                                   received.digest.digest()));
+            if (divergence < 0 && sent.length != received.length) {
+                divergence = Math.min(sent.length, received.length);
+            }
+        }
+
+        return match;
+
+    } // verify ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the offset of the start of the first block in which the ends
+     *         differ, or of the end of the shorter, if known; otherwise -1.
+     *         Once verified, this is unknown only for ends as long as each
+     *         other that differ with no blocks checked.
+     */
+    public long divergence () {
+
+        return divergence;
+
+    } // divergence ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Hash bytes at one end, finishing any blocks that they complete.
+     *
+     * @param end    The end through which the bytes pass.
+     * @param other  The other end.
+     * @param data   The array holding the bytes.
+     * @param offset The index in <code>data</code> of the first byte.
+     * @param length The number of bytes.
+     * @throws RuntimeException if the verifier has been finished.
+     */
+    private void update (End end, End other, byte[] data, int offset,
+                         int length) {
+
+        if (finished) {
+            throw new RuntimeException("Stream already verified");
+        }
+
+        end.digest.update(data, offset, length);
+        if (blockSize == 0) {
+            end.length += length;
+            return;
+        }
+
+        while (length > 0) {
+            int n = (int)Math.min(length, blockSize - end.length % blockSize);
+            end.block.update(data, offset, n);
+            end.length += n;
+            offset     += n;
+            length     -= n;
+            if (end.length % blockSize == 0) {
+                endBlock(end, other);
+            }
+        }
+
+    } // update ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Finish the current block at one end, comparing its checksum with the
+     * other end's for the same block if that is finished, and otherwise
+     * queuing it for the other end to compare.
+     *
+     * @param end   The end whose block is finished.
+     * @param other The other end.
+     */
+    private void endBlock (End end, End other) {
+
+        long checksum = end.block.getValue();
+        end.block.reset();
+
+        // Once the ends have diverged, there is no more to learn.
+        if (divergence >= 0) {
+            return;
+        }
+
+        // Blocks are finished in the same order at both ends, so the oldest
+        // queued at the other end, if any, is this one's counterpart.
+        if (other.pending.isEmpty()) {
+            end.pending.add(checksum);
+        } else if (other.pending.poll() != checksum) {
+            divergence = (end.length - 1) / blockSize * blockSize;
+        }
+
+    } // endBlock ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  algorithm The name of a message digest.
+     * @return a new instance of the digest.
+     * @throws RuntimeException if the digest is unknown.
+     */
+    private static MessageDigest digest (String algorithm) {
+
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Unknown digest: " + algorithm);
+        }
+
+    } // digest ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The sending end. */
+    private final End     sent;
+
+    /** The receiving end. */
+    private final End     received;
+
+    /** The number of bytes in each checksummed block, or 0 for none. */
+    private final int     blockSize;
+
+    /** Whether both ends have been finished. */
+    private boolean       finished;
+
+    /** Whether the ends matched, once finished. */
+    private boolean       match;
+
+    /** Where the ends first differ, if known; otherwise -1. */
+    private long          divergence = -1;
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * The hashes of one end of the stream.
+     */
+    private static final class End {
+
+        End (MessageDigest digest) {
+            this.digest  = digest;
+            this.block   = new CRC32C();
+            this.pending = new ArrayDeque<Long>();
+        }
+
+        /** The digest of every byte so far. */
+        final MessageDigest    digest;
+
+        /** The checksum of the current block. */
+        final CRC32C           block;
+
+        /** The checksums of blocks finished here but not yet at the other
+         *  end, oldest first. */
+        final ArrayDeque<Long> pending;
+
+        /** The number of bytes so far. */
+        long                   length;
+
+    } // class End
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class StreamVerifier
+// =============================================================================
@@ -0,0 +1,122 @@
+// =============================================================================
+/**
+ * A CRC computed with one lookup in a 256-entry table per byte.
+ *
+ * @file   TableCRC.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class TableCRC extends CRC {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a CRC with the given parameters.
+     *
+     * @param width      The number of bits in a check value: 16 or 32.
+     * @param polynomial The generator polynomial, unreflected, without its
+     *                   leading term.
+     * @param initial    The initial value of the check register.
+     * @param reflected  Whether bytes enter the register least significant
+     *                   bit first.
+     * @param finalXor   The value with which to XOR the final register.
+     */
+    public TableCRC (int     width,
+                     int     polynomial,
+                     int     initial,
+                     boolean reflected,
+                     int     finalXor) {
+
+        this.width     = width;
+        this.mask      = (width == 32) ? -1 : (1 << width) - 1;
+        this.initial   = initial & mask;
+        this.reflected = reflected;
+        this.finalXor  = finalXor & mask;
+        this.table     = byteTable(width, polynomial, reflected);
+
+    } // TableCRC ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int width () {
+
+        return width;
+
+    } // width ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int start () {
+
+        return initial;
+
+    } // start ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int update (int crc, byte[] data, int offset, int length) {
+
+        int end = offset + length;
+        if (reflected) {
+            for (int i = offset; i < end; i += 1) {
+                crc = (crc >>> 8) ^ table[(crc ^ data[i]) & 0xff];
+            }
+        } else {
+            int shift = width - 8;
+            for (int i = offset; i < end; i += 1) {
+                crc = (crc << 8) ^ table[((crc >>> shift) ^ data[i]) & 0xff];
+            }
+        }
+
+        return crc;
+
+    } // update ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int finish (int crc) {
+
+        return (crc ^ finalXor) & mask;
+
+    } // finish ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The number of bits in a check value. */
+    private final int     width;
+
+    /** The bits of the register that are in use. */
+    private final int     mask;
+
+    /** The initial value of the register. */
+    private final int     initial;
+
+    /** Whether bytes enter the register least significant bit first. */
+    private final boolean reflected;
+
+    /** The value with which to XOR the final register. */
+    private final int     finalXor;
+
+    /** The register after shifting in each byte value. */
+    private final int[]   table;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class TableCRC
+// =============================================================================
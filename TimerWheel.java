@@ -0,0 +1,410 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A hashed timer wheel for scheduling actions, such as frame retransmissions,
+ * to occur after a delay.  Time is divided into ticks, and each pending timeout
+ * is kept in the slot of the wheel for the tick at which it is due, so that
+ * scheduling and cancelling are constant-time operations.  Timeouts further in
+ * the future than one turn of the wheel share slots with nearer ones and are
+ * simply passed over until their tick arrives.
+ *
+ * A wheel is not thread-safe: it is meant to be driven by the single thread
+ * of the event loop that owns it, which calls <code>expire()</code> regularly.
+ * Time is measured with a <code>Clock</code>: the system's, unless the wheel
+ * is given another before any timeout is scheduled.
+ *
+ * @file   TimerWheel.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class TimerWheel {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Default constructor.  Create a wheel with a one millisecond tick and
+     * enough slots to span a little over four seconds.
+     */
+    public TimerWheel () {
+
+        this(TimeUnit.MILLISECONDS.toNanos(1), 4096);
+
+    } // TimerWheel ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a wheel with the given resolution and size.
+     *
+     * @param tickNanos The length of a tick in nanoseconds; timeouts fire at
+     *                  the end of the tick in which they are due.
+     * @param slots     The number of slots, rounded up to a power of two.
+     */
+    public TimerWheel (long tickNanos, int slots) {
+
+        if (tickNanos <= 0 || slots <= 0) {
+            throw new RuntimeException("Invalid timer wheel dimensions");
+        }
+
+        int size = (slots == 1) ? 1 : Integer.highestOneBit(slots - 1) << 1;
+        this.wheel         = new Timeout[size];
+        this.tickNanos     = tickNanos;
+        this.clock         = Clock.SYSTEM;
+        this.origin        = clock.nanoTime();
+        this.processedTick = 0;
+        this.pending       = 0;
+
+    } // TimerWheel ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Measure time with the given clock from now on, starting again from tick
+     * 0.  Only a wheel with no timeouts pending may change its clock.
+     *
+     * @param  clock The clock.
+     * @throws RuntimeException if a timeout is pending.
+     */
+    public void useClock (Clock clock) {
+
+        if (pending > 0) {
+            throw new RuntimeException("Clock changed with timeouts pending");
+        }
+
+        this.clock         = clock;
+        this.origin        = clock.nanoTime();
+        this.processedTick = 0;
+
+    } // useClock ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Schedule an action to be run after a delay.
+     *
+     * @param  delayNanos The delay, in nanoseconds.
+     * @param  action     The action to run when the timeout fires.
+     * @return the handle by which the timeout may be cancelled or rescheduled.
+     */
+    public Timeout schedule (long delayNanos, Runnable action) {
+
+        Timeout timeout = newTimeout(action);
+        reschedule(timeout, delayNanos);
+
+        return timeout;
+
+    } // schedule ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a timeout that is not yet scheduled, so that a handle for a
+     * recurring action can be made once and then passed to
+     * <code>reschedule()</code> as often as needed.
+     *
+     * @param  action The action to run when the timeout fires.
+     * @return the unscheduled timeout.
+     */
+    public Timeout newTimeout (Runnable action) {
+
+        return new Timeout(action);
+
+    } // newTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Schedule an existing timeout to fire after a delay, replacing any time at
+     * which it was already due.  The timeout keeps its action.
+     *
+     * @param timeout    The timeout to schedule, which must have been created
+     *                   by this wheel.
+     * @param delayNanos The delay, in nanoseconds.
+     */
+    public void reschedule (Timeout timeout, long delayNanos) {
+
+        timeout.unlink();
+        timeout.cancelled = false;
+
+        // Round the deadline up to a whole tick, but never into a tick that
+        // has already been processed.
+        long deadline = clock.nanoTime() - origin + Math.max(0, delayNanos);
+        long tick     = (deadline + tickNanos - 1) / tickNanos;
+        timeout.tick  = Math.max(tick, processedTick + 1);
+
+        // Link it at the head of its slot.
+        int slot        = (int)(timeout.tick & (wheel.length - 1));
+        timeout.wheel   = this;
+        timeout.slot    = slot;
+        timeout.prev    = null;
+        timeout.next    = wheel[slot];
+        if (wheel[slot] != null) {
+            wheel[slot].prev = timeout;
+        }
+        wheel[slot] = timeout;
+        pending    += 1;
+
+    } // reschedule ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Run the action of every timeout that is due.  Actions may schedule or
+     * cancel timeouts, including their own.
+     *
+     * @return the number of actions run.
+     */
+    public int expire () {
+
+        long currentTick = (clock.nanoTime() - origin) / tickNanos;
+        int  fired       = 0;
+
+        // Visit the slot of each tick that has passed since the last call, but
+        // visit no slot more than once.
+        long firstTick = Math.max(processedTick + 1,
+                                  currentTick - wheel.length + 1);
+        for (long tick = firstTick; tick <= currentTick && pending > 0; tick += 1) {
+
+            processedTick = tick;
+
+            // Unlink the due timeouts from the slot before running any action,
+            // so that actions may freely change the wheel.
+            Timeout timeout = wheel[(int)(tick & (wheel.length - 1))];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.tick <= currentTick) {
+                    timeout.unlink();
+                    due.add(timeout);
+                }
+                timeout = next;
+            }
+
+            // Run them, skipping any that an earlier action cancelled or
+            // rescheduled.
+            for (int i = 0; i < due.size(); i += 1) {
+                Timeout expired = due.get(i);
+                if (!expired.cancelled && expired.wheel == null) {
+                    expired.cancelled = true;
+                    expired.action.run();
+                    fired += 1;
+                }
+            }
+            due.clear();
+
+        }
+        processedTick = Math.max(processedTick, currentTick);
+
+        return fired;
+
+    } // expire ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine how long until the next timeout will be fired by
+     * <code>expire()</code>.
+     *
+     * @return the number of nanoseconds until the earliest pending timeout,
+     *         which is zero or negative if one is already due; or
+     *         <code>Long.MAX_VALUE</code> if none is pending.
+     */
+    public long nanosUntilNextExpiry () {
+
+        if (pending == 0) {
+            return Long.MAX_VALUE;
+        }
+
+        // Walk forward one turn of the wheel from the next unprocessed tick.
+        // The first timeout due in the tick of the slot holding it is the
+        // earliest; failing that, take the earliest of those seen.
+        long earliest = Long.MAX_VALUE;
+        for (long tick = processedTick + 1;
+             tick <= processedTick + wheel.length && earliest > tick;
+             tick += 1) {
+            Timeout timeout = wheel[(int)(tick & (wheel.length - 1))];
+            for (; timeout != null; timeout = timeout.next) {
+                earliest = Math.min(earliest, timeout.tick);
+            }
+        }
+
+        return origin + earliest * tickNanos - clock.nanoTime();
+
+    } // nanosUntilNextExpiry ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of timeouts scheduled but not yet fired or cancelled.
+     */
+    public int pending () {
+
+        return pending;
+
+    } // pending ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * A scheduled action that can be cancelled before it fires.
+     */
+    public static final class Timeout {
+
+        // =====================================================================
+        private Timeout (Runnable action) {
+
+            this.action    = action;
+            this.cancelled = true;
+
+        } // Timeout ()
+        // =====================================================================
+
+
+
+        // =====================================================================
+        /**
+         * Prevent this timeout from firing, if it has not already.
+         */
+        public void cancel () {
+
+            cancelled = true;
+            unlink();
+
+        } // cancel ()
+        // =====================================================================
+
+
+
+        // =====================================================================
+        /**
+         * Remove this timeout from its slot, if it is in one.
+         */
+        private void unlink () {
+
+            if (wheel == null) {
+                return;
+            }
+
+            // Unlink it from its slot.
+            if (prev != null) {
+                prev.next = next;
+            } else {
+                wheel.wheel[slot] = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            wheel.pending -= 1;
+            wheel = null;
+            prev  = null;
+            next  = null;
+
+        } // unlink ()
+        // =====================================================================
+
+
+
+        // =====================================================================
+        /**
+         * @return <code>true</code> if this timeout is still waiting to fire;
+         *         <code>false</code> otherwise.
+         */
+        public boolean isPending () {
+
+            return !cancelled;
+
+        } // isPending ()
+        // =====================================================================
+
+
+
+        // =====================================================================
+        // DATA MEMBERS
+
+        /** The action to run when this timeout fires. */
+        private final Runnable action;
+
+        /** The wheel in whose slot this timeout is linked, if any. */
+        private TimerWheel wheel;
+
+        /** The tick at the end of which this timeout fires. */
+        private long tick;
+
+        /** The slot in which this timeout is linked. */
+        private int slot;
+
+        /** The neighbouring timeouts in the same slot. */
+        private Timeout prev, next;
+
+        /** Whether this timeout has been cancelled or has fired. */
+        private boolean cancelled;
+        // =====================================================================
+
+    } // class Timeout
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The slots, each the head of a list of timeouts. */
+    private final Timeout[] wheel;
+
+    /** The length of a tick in nanoseconds. */
+    private final long tickNanos;
+
+    /** The source of time. */
+    private Clock clock;
+
+    /** The time, from the clock, at which tick 0 began. */
+    private long origin;
+
+    /** The latest tick whose due timeouts have been fired. */
+    private long processedTick;
+
+    /** The number of timeouts linked into the wheel. */
+    private int pending;
+
+    /** Scratch space for the timeouts due in the slot being expired. */
+    private final ArrayList<Timeout> due = new ArrayList<Timeout>();
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class TimerWheel
+// =============================================================================
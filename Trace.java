@@ -0,0 +1,433 @@
+// =============================================================================
+// IMPORTS
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Properties;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A log of protocol events, kept in a ring in memory, for the layers and media
+ * to record what they do without printing as they go.  Each event has a kind,
+ * which carries its level and how to describe it; the time, from the clock of
+ * the run; the address of the layer that recorded it, or <code>-1</code> for
+ * a medium; and two numbers whose meaning depends on the kind.  An event is
+ * kept only if its level is within the configured one, and then only one in
+ * every <code>trace.sample</code>; once the ring is full, the oldest are
+ * overwritten.  Tracing is off unless configured, and then recording costs
+ * one comparison.
+ *
+ * The log is read once a run is over: printed, oldest first, or dumped in
+ * binary to be read by other tools.  It is shared by every layer in the
+ * process.
+ *
+ * @file   Trace.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public final class Trace {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * How much to trace, from nothing to everything.  Each level includes the
+     * ones before it.
+     */
+    public enum Level {
+
+        /** Nothing. */
+        OFF,
+
+        /** Faults: damaged, lost, and resent frames, collisions. */
+        FAULT,
+
+        /** Every frame and acknowledgement. */
+        FRAME,
+
+        /** Every change of state, however small. */
+        DETAIL
+
+    } // enum Level
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * The kinds of event, each with its level and a format for its two
+     * numbers.
+     */
+    public enum Event {
+
+        FRAME_SENT        (Level.FRAME,  "sent a frame of %d data bytes"),
+        FRAME_RESENT      (Level.FAULT,  "resent a frame"),
+        FRAME_DECODED     (Level.DETAIL, "decoded a frame of %d bytes"),
+        FRAME_DAMAGED     (Level.FAULT,  "received a damaged frame"),
+        FRAME_ABANDONED   (Level.FAULT,  "gave up on a frame"),
+        BITS_CORRECTED    (Level.FAULT,  "corrected %d bits"),
+        BYTES_RECEIVED    (Level.DETAIL, "received %d bytes"),
+        SEQUENCE_SENT     (Level.FRAME,  "sent #%d"),
+        SEQUENCE_RECEIVED (Level.FRAME,  "received #%d"),
+        SEQUENCE_DROPPED  (Level.FAULT,  "dropped #%d from %d"),
+        ACK_SENT          (Level.FRAME,  "sent ack #%d"),
+        ACK_RESENT        (Level.FAULT,  "resent ack #%d"),
+        ACK_RECEIVED      (Level.FRAME,  "received ack #%d"),
+        WINDOW_MOVED      (Level.DETAIL, "window now [%d, +%d)"),
+        COLLISION         (Level.FAULT,  "collision"),
+        BIT_FLIPPED       (Level.DETAIL, "flipped bit %d of a block"),
+        BLOCK_DROPPED     (Level.FAULT,  "dropped a block of %d bits");
+
+        Event (Level level, String format) {
+            this.level  = level;
+            this.format = format;
+        }
+
+        /** The least level at which the event is kept. */
+        final Level  level;
+
+        /** How to describe the event, given its two numbers. */
+        final String format;
+
+    } // enum Event
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Configure tracing, discarding any events recorded.  Reads:
+     * <ul>
+     *   <li><code>trace.level</code>: <code>off</code>, <code>fault</code>,
+     *       <code>frame</code>, or <code>detail</code> (default
+     *       <code>off</code>);</li>
+     *   <li><code>trace.sample</code>: keep one in this many events (default
+     *       <code>1</code>);</li>
+     *   <li><code>trace.capacity</code>: the number of events kept (default
+     *       <code>65536</code>).</li>
+     * </ul>
+     *
+     * @param  properties The configuration.
+     * @param  clock      The clock that times events.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    public static synchronized void configure (Properties properties,
+                                               Clock      clock) {
+
+        String name = properties.getProperty(LEVEL_PROPERTY, "off");
+        Level  configured;
+        try {
+            configured = Level.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid trace level: " + name);
+        }
+        int sampling = DataLinkLayer.intProperty(properties, SAMPLE_PROPERTY, 1);
+        int capacity = DataLinkLayer.intProperty(properties, CAPACITY_PROPERTY,
+                                                 DEFAULT_CAPACITY);
+        if (sampling < 1 || capacity < 1) {
+            throw new RuntimeException("Invalid trace: sample " + sampling +
+                                       ", capacity " + capacity);
+        }
+
+        Trace.clock    = clock;
+        Trace.sample   = sampling;
+        Trace.times    = new long[capacity];
+        Trace.kinds    = new byte[capacity];
+        Trace.sources  = new int[capacity];
+        Trace.firsts   = new long[capacity];
+        Trace.seconds  = new long[capacity];
+        Trace.seen     = 0;
+        Trace.recorded = 0;
+        Trace.level    = configured.ordinal();
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether any events are being traced.
+     */
+    public static boolean enabled () {
+
+        return level != Level.OFF.ordinal();
+
+    } // enabled ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  event A kind of event.
+     * @return whether events of the kind are being traced, so that a caller
+     *         may skip working out what to record.
+     */
+    public static boolean on (Event event) {
+
+        return event.level.ordinal() <= level;
+
+    } // on ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Record an event with no numbers.
+     *
+     * @param event  The kind of event.
+     * @param source The address of the recording layer, or <code>-1</code>.
+     */
+    public static void record (Event event, int source) {
+
+        record(event, source, 0, 0);
+
+    } // record ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Record an event with one number.
+     *
+     * @param event  The kind of event.
+     * @param source The address of the recording layer, or <code>-1</code>.
+     * @param first  The number.
+     */
+    public static void record (Event event, int source, long first) {
+
+        record(event, source, first, 0);
+
+    } // record ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Record an event, if its kind is being traced.
+     *
+     * @param event  The kind of event.
+     * @param source The address of the recording layer, or <code>-1</code>.
+     * @param first  The first number.
+     * @param second The second number.
+     */
+    public static void record (Event event, int source, long first,
+                               long second) {
+
+        if (event.level.ordinal() <= level) {
+            log(event, source, first, second);
+        }
+
+    } // record ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the number of events kept, at most the capacity.
+     */
+    public static synchronized int size () {
+
+        return (int)Math.min(recorded, times.length);
+
+    } // size ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Print the events kept, oldest first, one per line, with how many were
+     * passed over.
+     *
+     * @param out The stream to which to print.
+     */
+    public static synchronized void print (PrintStream out) {
+
+        int count = size();
+        out.printf("Trace: %d events, %d kept\n", seen, count);
+        for (int i = 0; i < count; i += 1) {
+            int   slot  = slot(recorded - count + i);
+            Event event = EVENTS[kinds[slot]];
+            out.printf("%14.6f ms  %4d  %s\n", times[slot] / 1e6, sources[slot],
+                       String.format(event.format, firsts[slot],
+                                     seconds[slot]));
+        }
+
+    } // print ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Write the events kept, oldest first, in binary: the magic number
+     * <code>0x54524345</code>, the number of events as an <code>int</code>,
+     * and then for each, its time in nanoseconds as a <code>long</code>, its
+     * kind as a <code>byte</code> (the ordinal of <code>Event</code>), its
+     * source as an <code>int</code>, and its numbers as <code>long</code>s;
+     * all big-endian.
+     *
+     * @param  out The stream to which to write.
+     * @throws IOException if the stream fails.
+     */
+    public static synchronized void dump (DataOutputStream out)
+        throws IOException {
+
+        int count = size();
+        out.writeInt(MAGIC);
+        out.writeInt(count);
+        for (int i = 0; i < count; i += 1) {
+            int slot = slot(recorded - count + i);
+            out.writeLong(times[slot]);
+            out.writeByte(kinds[slot]);
+            out.writeInt(sources[slot]);
+            out.writeLong(firsts[slot]);
+            out.writeLong(seconds[slot]);
+        }
+        out.flush();
+
+    } // dump ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Keep an event being traced, if it is sampled, overwriting the oldest if
+     * the ring is full.
+     *
+     * @param event  The kind of event.
+     * @param source The address of the recording layer, or <code>-1</code>.
+     * @param first  The first number.
+     * @param second The second number.
+     */
+    private static synchronized void log (Event event, int source, long first,
+                                          long second) {
+
+        seen += 1;
+        if ((seen - 1) % sample != 0) {
+            return;
+        }
+
+        int slot       = slot(recorded);
+        times[slot]    = clock.nanoTime();
+        kinds[slot]    = (byte)event.ordinal();
+        sources[slot]  = source;
+        firsts[slot]   = first;
+        seconds[slot]  = second;
+        recorded      += 1;
+
+    } // log ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  index The number of an event, counting from the first kept.
+     * @return the slot in the ring that holds it.
+     */
+    private static int slot (long index) {
+
+        return (int)(index % times.length);
+
+    } // slot ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The ordinal of the level traced.  Set before the layers run, and only
+     *  read thereafter. */
+    private static int      level    = Level.OFF.ordinal();
+
+    /** The clock that times events. */
+    private static Clock    clock    = Clock.SYSTEM;
+
+    /** Keep one in this many events. */
+    private static int      sample   = 1;
+
+    /** The time of each event kept, in nanoseconds. */
+    private static long[]   times    = new long[1];
+
+    /** The ordinal of the kind of each event kept. */
+    private static byte[]   kinds    = new byte[1];
+
+    /** The source of each event kept. */
+    private static int[]    sources  = new int[1];
+
+    /** The first number of each event kept. */
+    private static long[]   firsts   = new long[1];
+
+    /** The second number of each event kept. */
+    private static long[]   seconds  = new long[1];
+
+    /** The number of events traced. */
+    private static long     seen;
+
+    /** The number of events kept, including those since overwritten. */
+    private static long     recorded;
+
+    /** The kinds of event, by ordinal. */
+    private static final Event[] EVENTS = Event.values();
+
+    /** The magic number that begins a binary dump: "TRCE". */
+    private static final int MAGIC = 0x54524345;
+
+    /** The property giving the level traced. */
+    public static final String LEVEL_PROPERTY    = "trace.level";
+
+    /** The property giving how many events are traced per one kept. */
+    public static final String SAMPLE_PROPERTY   = "trace.sample";
+
+    /** The property giving the number of events kept. */
+    public static final String CAPACITY_PROPERTY = "trace.capacity";
+
+    /** The property giving a file to which to dump the trace. */
+    public static final String DUMP_PROPERTY     = "trace.dump";
+
+    /** The number of events kept, unless configured otherwise. */
+    public static final int    DEFAULT_CAPACITY  = 1 << 16;
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Not to be instantiated.
+     */
+    private Trace () {
+    }
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class Trace
+// =============================================================================
@@ -0,0 +1,164 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Clocks a physical layer's outgoing blocks of bits onto its medium from a
+ * thread of its own.  The data link layer's event loop only queues each block
+ * and goes on, so that it can handle acknowledgements and frame the next data
+ * while the medium does whatever work carrying a block takes: flipping bits,
+ * copying them to each receiver, or detecting a collision.  Blocks reach the
+ * medium in the order in which they were queued.
+ *
+ * The thread is started with the first block, and parks whenever the queue is
+ * empty.
+ *
+ * @file   Transmitter.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class Transmitter implements Runnable {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a transmitter for a physical layer.
+     *
+     * @param sender The physical layer whose blocks to send.
+     * @param medium The medium onto which to send them.
+     */
+    public Transmitter (PhysicalLayer sender, Medium medium) {
+
+        this.sender = sender;
+        this.medium = medium;
+        this.queue  = new ConcurrentLinkedQueue<Block>();
+        this.thread = new Thread(this, "Transmitter");
+        this.thread.setDaemon(true);
+
+    } // Transmitter ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Queue a block of bits to be sent, starting the thread if this is the
+     * first.  The array must not be modified afterwards.
+     *
+     * @param words    The bits to send, packed into words.
+     * @param bitCount The number of bits to send.
+     */
+    public void send (long[] words, int bitCount) {
+
+        queue.offer(new Block(words, bitCount));
+
+        if (!started.get() && started.compareAndSet(false, true)) {
+            thread.start();
+        } else {
+            LockSupport.unpark(thread);
+        }
+
+    } // send ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send queued blocks onto the medium, in order, until stopped.
+     */
+    public void run () {
+
+        while (running) {
+            Block block = queue.poll();
+            if (block == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            medium.transmit(sender, block.words, block.bitCount);
+        }
+
+    } // run ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Stop the thread, abandoning any blocks still queued.
+     */
+    public void stop () {
+
+        running = false;
+        LockSupport.unpark(thread);
+
+    } // stop ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The physical layer whose blocks are sent. */
+    private final PhysicalLayer sender;
+
+    /** The medium onto which they are sent. */
+    private final Medium medium;
+
+    /** The blocks waiting to be sent. */
+    private final Queue<Block> queue;
+
+    /** The thread that sends them. */
+    private final Thread thread;
+
+    /** Whether the thread has been started. */
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    /** Whether to keep sending. */
+    private volatile boolean running = true;
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * A block of bits waiting to be sent.
+     */
+    private static final class Block {
+
+        Block (long[] words, int bitCount) {
+            this.words    = words;
+            this.bitCount = bitCount;
+        }
+
+        /** The bits, packed into words. */
+        final long[] words;
+
+        /** The number of bits. */
+        final int    bitCount;
+
+    } // class Block
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class Transmitter
+// =============================================================================
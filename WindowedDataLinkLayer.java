@@ -0,0 +1,589 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.LinkedList;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+// =============================================================================
+
+
+// =============================================================================
+/**
+ * @file   WindowedDataLinkLayer.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ *
+ * The common machinery for sliding window protocols.  Frames use start/stop
+ * tags and byte packing, and carry a kind (data or acknowledgement), a
+ * sequence number, and a cyclic redundancy check over the header, both, and
+ * whatever follows them, chosen as for <code>CRCDataLinkLayer</code> by
+ * <code>dll.crc</code> and <code>dll.crcImplementation</code>.  Sequence
+ * numbers are
+ * <code>sequenceBits</code> wide, and up to <code>windowSize</code> data
+ * frames may be outstanding at once, each with its own retransmission timer.
+ * Acknowledgements are cumulative: each names the next sequence number that
+ * its sender expects.  Subclasses decide what to do with data frames that
+ * arrive out of order and with frames that time out.
+ *
+ * The receiving side keeps its state separately for each source address, so
+ * that several peers may send to the same layer at once, and acknowledges each
+ * frame to its source.  The sending side has a single window, toward its
+ * destination, and so heeds only acknowledgements from there (or from anyone,
+ * if it broadcasts).
+ */
+public abstract class WindowedDataLinkLayer extends DataLinkLayer {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Configure the window, and then set up the sender state to match.  In
+     * addition to the settings of every data link layer, this layer reads
+     * <code>dll.sequenceBits</code>, the width of a sequence number (default
+     * 3); <code>dll.windowSize</code>, the number of frames that may be
+     * outstanding (default the largest allowed); and <code>dll.timeout</code>,
+     * the retransmission timeout in milliseconds (default 1000); and the CRC,
+     * as <code>CRCDataLinkLayer</code> does.
+     *
+     * @param  properties The configuration.
+     * @throws RuntimeException if a setting is invalid.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void configure (Properties properties) {
+
+        super.configure(properties);
+
+        crc = CRC.create(properties.getProperty(CRCDataLinkLayer.CRC_PROPERTY,
+                                                "CRC32"),
+                         properties.getProperty(
+                             CRCDataLinkLayer.CRC_IMPLEMENTATION_PROPERTY,
+                             "slice8"));
+
+        sequenceBits  = intProperty(properties, SEQUENCE_BITS_PROPERTY,
+                                    DEFAULT_SEQUENCE_BITS);
+        if (sequenceBits < 1 || sequenceBits > Byte.SIZE) {
+            throw new RuntimeException("Invalid sequence number width " +
+                                       sequenceBits);
+        }
+        sequenceSpace = 1 << sequenceBits;
+
+        windowSize    = intProperty(properties, WINDOW_SIZE_PROPERTY,
+                                    maxWindowSize());
+        if (windowSize < 1 || windowSize > maxWindowSize()) {
+            throw new RuntimeException("Invalid window size " + windowSize +
+                                       " for " + sequenceBits +
+                                       "-bit sequence numbers");
+        }
+
+        timeoutNanos  = TimeUnit.MILLISECONDS.toNanos(
+                            intProperty(properties, TIMEOUT_PROPERTY,
+                                        DEFAULT_TIMEOUT));
+
+        // Give each sequence number a slot for its frame and a reusable timer.
+        sentFrames = new Queue[sequenceSpace];
+        timeouts   = new TimerWheel.Timeout[sequenceSpace];
+        for (int i = 0; i < sequenceSpace; i += 1) {
+            final int seq = i;
+            timeouts[i] = timers.newTimeout(() -> expire(seq));
+        }
+
+    } // configure ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Embed a raw sequence of bytes into a data frame, numbered with the next
+     * sequence number.
+     *
+     * @param  data The raw sequence of bytes to be framed.
+     * @return A complete frame.
+     */
+    protected Queue<Byte> createFrame (Queue<Byte> data) {
+
+        Queue<Byte> contents = new LinkedList<Byte>();
+        contents.add(DATA_KIND);
+        contents.add((byte)nextSequenceNumber());
+        contents.addAll(data);
+
+        return frame(contents, destination);
+
+    } // createFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Determine whether the received, buffered data constitutes a complete
+     * frame.  If so, then remove the framing metadata, verify the check value,
+     * and return the kind, sequence number and data.  Note that any data
+     * preceding an escaped start tag is assumed to be part of a damaged frame,
+     * and is thus discarded.
+     *
+     * @return If the buffer contains a complete, undamaged frame, its contents;
+     *         <code>null</code> otherwise.
+     */
+    protected Queue<Byte> processFrame () {
+
+	// Consume received bytes until a whole frame has been extracted.
+	if (!frameDecoder.decode(receiveBuffer)) {
+	    return null;
+	}
+	byte[] frame = frameDecoder.frame();
+	int    count = frameDecoder.length();
+
+	// The final bytes inside the frame are the check value of the header and
+	// the contents.  Compare it to a recalculation.  A frame must also hold
+	// at least a kind and a number.
+	int     length  = count - crc.bytes();
+	boolean damaged = (length < 2) ||
+	                  (crc.read(frame, length) !=
+	                   crc.compute(frameDecoder.header(), frame, 0, length));
+	frameReceived(frameDecoder.framedLength(), damaged);
+	if (damaged) {
+	    return null;
+	}
+
+	LinkedList<Byte> extractedBytes = new LinkedList<Byte>();
+	for (int i = 0; i < length; i += 1) {
+	    extractedBytes.add(frame[i]);
+	}
+
+	return extractedBytes;
+
+    } // processFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After sending a data frame, hold onto it in case it must be resent, and
+     * start its timer.
+     *
+     * @param frame The framed data that was transmitted.
+     */
+    protected void finishFrameSend (Queue<Byte> frame) {
+
+        int seq = nextSequenceNumber();
+        sentFrames[seq] = frame;
+        timers.reschedule(timeouts[seq], timeoutNanos);
+        outstanding += 1;
+
+    } // finishFrameSend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * After receiving a frame, hand it to the sending side if it is an
+     * acknowledgement from the destination, or to the receiving side if it
+     * carries data.
+     *
+     * @param frame The kind, sequence number, and data of the frame.
+     */
+    protected void finishFrameReceive (Queue<Byte> frame) {
+
+        byte kind = frame.remove();
+        int  seq  = frame.remove() & 0xff;
+        int  from = source();
+        if (seq >= sequenceSpace) {
+            return;
+        }
+
+        if (kind == ACK_KIND) {
+            if (destination == BROADCAST || from == destination) {
+                acknowledge(seq);
+                receiveSelectiveAck(seq, frame);
+            }
+        } else if (kind == DATA_KIND) {
+            receiveData(from, seq, frame);
+        }
+
+    } // finishFrameReceive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Nothing to poll: every outstanding frame has its own timer on the timer
+     * wheel, which calls <code>timedOut()</code>.
+     */
+    protected void checkTimeout () {
+
+    } // checkTimeout ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return whether there is nothing left to send and no frame outstanding.
+     */
+    public boolean idle () {
+
+        return super.idle() && outstanding == 0;
+
+    } // idle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return <code>true</code>: every data frame is acknowledged, or timed
+     *         out.
+     */
+    protected boolean acknowledges () {
+
+        return true;
+
+    } // acknowledges ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a new frame only if the window has room for it.
+     *
+     * @return the frame of bytes transmitted, if any.
+     */
+    protected Queue<Byte> sendNextFrame () {
+
+        if (outstanding >= windowSize) {
+            return null;
+        }
+
+        return super.sendNextFrame();
+
+    } // sendNextFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Handle a data frame that has arrived undamaged.
+     *
+     * @param from The source address of the frame.
+     * @param seq  The sequence number of the frame.
+     * @param data The data carried by the frame.
+     */
+    abstract protected void receiveData (int from, int seq, Queue<Byte> data);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Handle the timing out of an outstanding frame.
+     *
+     * @param seq The sequence number of the frame.
+     */
+    abstract protected void timedOut (int seq);
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the largest window that this protocol allows for the configured
+     *         sequence number width.
+     */
+    abstract protected int maxWindowSize ();
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Handle whatever follows the cumulative acknowledgement in an ACK frame.
+     * By default, it is ignored.
+     *
+     * @param next  The sequence number cumulatively acknowledged as next
+     *              expected.
+     * @param extra The remaining contents of the ACK frame.
+     */
+    protected void receiveSelectiveAck (int next, Queue<Byte> extra) {
+
+    } // receiveSelectiveAck ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Slide the sending window forward in response to a cumulative
+     * acknowledgement, releasing every frame before the one named.
+     * Acknowledgements that name no outstanding frame are ignored.
+     *
+     * @param next The next sequence number that the receiver expects.
+     */
+    protected void acknowledge (int next) {
+
+        int count = distance(base, next);
+        if (count == 0 || count > outstanding) {
+            return;
+        }
+
+        for (int i = 0; i < count; i += 1) {
+            int seq = (base + i) & (sequenceSpace - 1);
+            timeouts[seq].cancel();
+            frameSizer.frameAcknowledged(framedLength(sentFrames[seq]));
+            sentFrames[seq] = null;
+        }
+        base         = next;
+        outstanding -= count;
+
+        Trace.record(Trace.Event.WINDOW_MOVED, address, base, outstanding);
+
+    } // acknowledge ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Resend an outstanding frame and restart its timer.
+     *
+     * @param seq The sequence number of the frame.
+     */
+    protected void resend (int seq) {
+
+        if (sentFrames[seq] == null) {
+            return;
+        }
+
+        retransmit(sentFrames[seq]);
+        timers.reschedule(timeouts[seq], timeoutNanos);
+
+    } // resend ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send an acknowledgement frame.
+     *
+     * @param to        The address of the data's source.
+     * @param next      The next sequence number expected from it.
+     * @param selective Any further bytes to append after it.
+     */
+    protected void sendAck (int to, int next, byte[] selective) {
+
+        Queue<Byte> contents = new LinkedList<Byte>();
+        contents.add(ACK_KIND);
+        contents.add((byte)next);
+        for (byte b : selective) {
+            contents.add(b);
+        }
+
+        transmit(frame(contents, to), to);
+
+    } // sendAck ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Deliver a frame's data to the client.
+     *
+     * @param data The data to deliver.
+     */
+    protected void deliver (Queue<Byte> data) {
+
+        byte[] deliverable = new byte[data.size()];
+        for (int i = 0; i < deliverable.length; i += 1) {
+            deliverable[i] = data.remove();
+        }
+
+        client.receive(deliverable);
+
+    } // deliver ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  from A sequence number.
+     * @param  to   Another sequence number.
+     * @return how many steps forward, modulo the sequence space, it is from
+     *         <code>from</code> to <code>to</code>.
+     */
+    protected int distance (int from, int to) {
+
+        return (to - from) & (sequenceSpace - 1);
+
+    } // distance ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return the sequence number that the next new data frame will carry.
+     */
+    protected int nextSequenceNumber () {
+
+        return (base + outstanding) & (sequenceSpace - 1);
+
+    } // nextSequenceNumber ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Called by the timer wheel when an outstanding frame's timer fires.  Let
+     * the frame sizer know that the frame went unacknowledged, and then hand
+     * it to the protocol.
+     *
+     * @param seq The sequence number of the frame.
+     */
+    private void expire (int seq) {
+
+        if (sentFrames[seq] != null) {
+            frameSizer.frameTimedOut(framedLength(sentFrames[seq]));
+        }
+        timedOut(seq);
+
+    } // expire ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  frame A frame as sent, without its header.
+     * @return the number of bytes that the frame occupies with its header.
+     */
+    private static int framedLength (Queue<Byte> frame) {
+
+        return frame.size() + FrameDecoder.HEADER_LENGTH;
+
+    } // framedLength ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Wrap frame contents with the check value of them and the header, start
+     * and stop tags, and escape tags wherever a content or check byte could be
+     * mistaken for a tag.
+     *
+     * @param  contents The kind, sequence number, and any further bytes.
+     * @param  to       The address to which the frame will be sent.
+     * @return the complete frame.
+     */
+    private Queue<Byte> frame (Queue<Byte> contents, int to) {
+
+        // Gather the contents into an array, followed by the check value.
+        int    length  = contents.size();
+        byte[] checked = new byte[length + crc.bytes()];
+        int    i       = 0;
+        for (byte b : contents) {
+            checked[i] = b;
+            i += 1;
+        }
+        crc.write(crc.compute(header(to), checked, 0, length), checked, length);
+
+        Queue<Byte> framingData = new LinkedList<Byte>();
+        framingData.add(startTag);
+        for (byte currentByte : checked) {
+            if ((currentByte == startTag) ||
+                (currentByte == stopTag)  ||
+                (currentByte == escapeTag)) {
+                framingData.add(escapeTag);
+            }
+            framingData.add(currentByte);
+        }
+        framingData.add(stopTag);
+
+        return framingData;
+
+    } // frame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The width of a sequence number, in bits. */
+    protected int sequenceBits;
+
+    /** The number of distinct sequence numbers. */
+    protected int sequenceSpace;
+
+    /** The largest number of frames that may be outstanding. */
+    protected int windowSize;
+
+    /** How long to wait for an acknowledgement before resending. */
+    protected long timeoutNanos;
+
+    /** The oldest unacknowledged sequence number. */
+    protected int base = 0;
+
+    /** The number of frames sent but not yet acknowledged. */
+    protected int outstanding = 0;
+
+    /** The outstanding frames, indexed by sequence number. */
+    protected Queue<Byte>[] sentFrames;
+
+    /** The retransmission timer of each sequence number. */
+    protected TimerWheel.Timeout[] timeouts;
+
+    /** The CRC used to check each frame. */
+    private CRC crc;
+
+    /** The start tag. */
+    private final byte startTag  = (byte)'{';
+
+    /** The stop tag. */
+    private final byte stopTag   = (byte)'}';
+
+    /** The escape tag. */
+    private final byte escapeTag = (byte)'\\';
+
+    /** The number of addresses from which data may arrive.  The broadcast
+     *  address is never a source, as the frame decoder ensures. */
+    protected static final int  SOURCES   = BROADCAST;
+
+    /** The kind byte that begins a data frame. */
+    protected static final byte DATA_KIND = (byte)'D';
+
+    /** The kind byte that begins an acknowledgement frame. */
+    protected static final byte ACK_KIND  = (byte)'A';
+
+    /** The property giving the sequence number width. */
+    public static final String SEQUENCE_BITS_PROPERTY = "dll.sequenceBits";
+
+    /** The property giving the window size. */
+    public static final String WINDOW_SIZE_PROPERTY   = "dll.windowSize";
+
+    /** The property giving the timeout in milliseconds. */
+    public static final String TIMEOUT_PROPERTY       = "dll.timeout";
+
+    /** The sequence number width when none is configured. */
+    private static final int  DEFAULT_SEQUENCE_BITS = 3;
+
+    /** The timeout, in milliseconds, when none is configured. */
+    private static final int  DEFAULT_TIMEOUT       = 1000;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class WindowedDataLinkLayer
+// =============================================================================
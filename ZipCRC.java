@@ -0,0 +1,99 @@
+// =============================================================================
+// IMPORTS
+
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A 32-bit CRC computed by <code>java.util.zip</code>, which the JVM may
+ * implement with hardware instructions.  A <code>Checksum</code> cannot be
+ * resumed from a register, so it is kept here as the register, and the values
+ * passed between <code>start()</code>, <code>update()</code> and
+ * <code>finish()</code> are placeholders.
+ *
+ * @file   ZipCRC.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class ZipCRC extends CRC {
+// =============================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a CRC backed by <code>java.util.zip</code>.
+     *
+     * @param castagnoli <code>true</code> for CRC-32C; <code>false</code> for
+     *                   the IEEE CRC-32.
+     */
+    public ZipCRC (boolean castagnoli) {
+
+        checksum = castagnoli ? new CRC32C() : new CRC32();
+
+    } // ZipCRC ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int width () {
+
+        return 32;
+
+    } // width ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int start () {
+
+        checksum.reset();
+
+        return 0;
+
+    } // start ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int update (int crc, byte[] data, int offset, int length) {
+
+        checksum.update(data, offset, length);
+
+        return crc;
+
+    } // update ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    public int finish (int crc) {
+
+        return (int)checksum.getValue();
+
+    } // finish ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The underlying checksum, reset at the start of each computation. */
+    private final Checksum checksum;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ZipCRC
+// =============================================================================
@@ -0,0 +1,255 @@
+// =============================================================================
+// PACKAGE
+
+package benchmarks;
+// =============================================================================
+
+
+
+// =============================================================================
+// IMPORTS
+
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.util.LinkedList;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * The per-frame work of a data link layer: framing, extracting, computing the
+ * parity, and moving the bits of a frame to and from the physical layer.
+ *
+ * Each layer sits alone on its own medium, so that whatever it transmits
+ * (including acknowledgments sent while processing a frame) goes nowhere, and
+ * its event loop is never started, so that only the benchmark drives it.
+ *
+ * @file   DataLinkLayerBenchmark.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataLinkLayerBenchmark {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // SETUP
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the layers, and a frame of random data for them to work on.
+     */
+    @Setup
+    public void setUp () {
+
+        standardOut = Stack.silence();
+
+        Properties properties = new Properties();
+        properties.setProperty("dll.frameSize", Integer.toString(payloadSize));
+        sender   = Stack.dataLinkLayer(Stack.host(Stack.medium("Perfect"), layer, properties));
+        receiver = Stack.dataLinkLayer(Stack.host(Stack.medium("Perfect"), layer, properties));
+        parity   = Stack.calculateParity(sender);
+
+        byte[] bytes = new byte[payloadSize];
+        new Random(42).nextBytes(bytes);
+        for (byte b : bytes) {
+            data.add(b);
+        }
+
+        // A frame for the receiver.  The layers that number their frames
+        // expect the first number that the sender gives out.  Its header,
+        // broadcast from address 0, follows its start tag, just as transmit()
+        // would insert it; none of the header's bytes needs escaping.
+        frame = Stack.createFrame(sender, new LinkedList<Byte>(data));
+        byte[] header = Stack.header(BROADCAST, 0);
+        frameBytes = new byte[frame.size() + header.length];
+        int i = 0;
+        for (byte b : frame) {
+            frameBytes[i] = b;
+            i += 1;
+            if (i == 1) {
+                System.arraycopy(header, 0, frameBytes, 1, header.length);
+                i += header.length;
+            }
+        }
+
+        // The same frame as the block of bits that would carry it.
+        frameWords = new long[(frameBytes.length + 7) >>> 3];
+        for (i = 0; i < frameBytes.length; i += 1) {
+            long reversed = Integer.reverse(frameBytes[i] & 0xff) >>> 24;
+            frameWords[i >>> 3] |= reversed << ((i & 7) * Byte.SIZE);
+        }
+        frameBits = frameBytes.length * Byte.SIZE;
+
+    } // setUp ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @TearDown
+    public void tearDown () {
+
+        System.setOut(standardOut);
+
+    } // tearDown ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // BENCHMARKS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Frame a payload.  The layers add to the data that they are given, so
+     * each call is given a fresh copy, whose making is measured too.
+     */
+    @Benchmark
+    public Queue<Byte> createFrame () {
+
+        return Stack.createFrame(sender, new LinkedList<Byte>(data));
+
+    } // createFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Extract a frame that has just arrived in the receive buffer.  Putting it
+     * there is measured too.
+     */
+    @Benchmark
+    public Queue<Byte> processFrame () {
+
+        Stack.put(Stack.receiveBuffer(receiver), frameBytes);
+
+        return Stack.processFrame(receiver);
+
+    } // processFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Benchmark
+    public byte calculateParity () {
+
+        return Stack.calculateParity(parity, sender, data);
+
+    } // calculateParity ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Pack a frame into bits and hand them to the physical layer.
+     */
+    @Benchmark
+    public void transmit () {
+
+        Stack.transmit(sender, frame);
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Move a frame's worth of bits from the physical layer into the receive
+     * buffer.  Delivering the bits to the physical layer, and emptying the
+     * receive buffer afterwards, are measured too.
+     */
+    @Benchmark
+    public void receive () {
+
+        Stack.deliver(Stack.physicalLayer(receiver), frameWords, frameBits);
+        Stack.receive(receiver);
+        Stack.clear(Stack.receiveBuffer(receiver));
+
+    } // receive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The type of data link layer. */
+    @Param({ "Parity", "PAR", "SlidingWindows" })
+    public String layer;
+
+    /** The number of data bytes in a frame. */
+    @Param({ "8", "64", "512" })
+    public int payloadSize;
+
+    /** The layer that frames and transmits. */
+    private Object sender;
+
+    /** The layer that receives and extracts. */
+    private Object receiver;
+
+    /** The sender's parity calculation. */
+    private MethodHandle parity;
+
+    /** The payload of a frame. */
+    private final Queue<Byte> data = new LinkedList<Byte>();
+
+    /** The payload, framed, without its header. */
+    private Queue<Byte> frame;
+
+    /** The frame, with its header, as an array. */
+    private byte[] frameBytes;
+
+    /** The frame, as packed bits. */
+    private long[] frameWords;
+
+    /** The number of bits in the frame. */
+    private int frameBits;
+
+    /** The standard output, silenced while the benchmark runs. */
+    private PrintStream standardOut;
+
+    /** The address to which a frame is sent for every layer. */
+    private static final int BROADCAST = 0xff;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class DataLinkLayerBenchmark
+// =============================================================================
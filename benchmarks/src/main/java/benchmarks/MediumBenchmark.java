@@ -0,0 +1,141 @@
+// =============================================================================
+// PACKAGE
+
+package benchmarks;
+// =============================================================================
+
+
+
+// =============================================================================
+// IMPORTS
+
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Carrying a block of bits across each medium, between two bare physical
+ * layers.
+ *
+ * @file   MediumBenchmark.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediumBenchmark {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // SETUP
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Setup
+    public void setUp () {
+
+        Properties properties = new Properties();
+        properties.setProperty("medium.seed", "42");
+        properties.setProperty("medium.geometricNoise",
+                               Boolean.toString(geometricNoise));
+
+        medium   = Stack.medium(type, properties);
+        sender   = Stack.newPhysicalLayer(medium);
+        receiver = Stack.newPhysicalLayer(medium);
+        sink     = new byte[(bits + 7) >>> 3];
+
+        words = new long[(bits + 63) >>> 6];
+        Random random = new Random(42);
+        for (int i = 0; i < words.length; i += 1) {
+            words[i] = random.nextLong();
+        }
+
+    } // setUp ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // BENCHMARKS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Transmit a block of bits.  Taking them from the receiver afterwards, so
+     * that they do not pile up, is measured too.
+     */
+    @Benchmark
+    public int transmit () {
+
+        Stack.transmit(medium, sender, words, bits);
+
+        return Stack.drainBytes(receiver, sink);
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The type of medium. */
+    @Param({ "Perfect", "LowNoise" })
+    public String type;
+
+    /** Whether a noisy medium draws the gaps between flipped bits, rather
+     *  than a number for every bit. */
+    @Param({ "true", "false" })
+    public boolean geometricNoise;
+
+    /** The number of bits in a block. */
+    @Param({ "80", "640", "4160" })
+    public int bits;
+
+    /** The medium. */
+    private Object medium;
+
+    /** The physical layer that transmits. */
+    private Object sender;
+
+    /** The physical layer that receives. */
+    private Object receiver;
+
+    /** Where the received bits are taken, as bytes. */
+    private byte[] sink;
+
+    /** The block of bits. */
+    private long[] words;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class MediumBenchmark
+// =============================================================================
@@ -0,0 +1,696 @@
+// =============================================================================
+// PACKAGE
+
+package benchmarks;
+// =============================================================================
+
+
+
+// =============================================================================
+// IMPORTS
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Properties;
+import java.util.Queue;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Access to the simulator's classes for the benchmarks.  JMH will not generate
+ * benchmarks in the default package, where the simulator lives, and classes in
+ * the default package cannot be named from any other, so everything is reached
+ * through method handles.  The handles are constants, so the JIT compiles calls
+ * through them as it would direct calls.
+ *
+ * Objects of the simulator's classes are held as <code>Object</code>s; each
+ * method here documents which class it expects.
+ *
+ * @file   Stack.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+final class Stack {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // PUBLIC METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  type The type of medium, as given to the simulator.
+     * @return a new <code>Medium</code>.
+     */
+    static Object medium (String type) {
+
+        try {
+            return (Object)MEDIUM_CREATE.invokeExact((Object)type);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // medium ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  type       The type of medium, as given to the simulator.
+     * @param  properties The configuration of the medium.
+     * @return a new <code>Medium</code>.
+     */
+    static Object medium (String type, Properties properties) {
+
+        try {
+            return (Object)MEDIUM_CREATE_CONFIGURED.invokeExact((Object)type,
+                                                                (Object)properties);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // medium ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  medium     The <code>Medium</code> to which to connect.
+     * @param  layer      The type of data link layer, as given to the
+     *                    simulator.
+     * @param  properties The configuration of the data link layer.
+     * @return a new <code>Host</code>, whose thread is not yet started.
+     */
+    static Object host (Object medium, String layer, Properties properties) {
+
+        try {
+            return (Object)HOST_NEW.invokeExact(medium, (Object)layer, (Object)properties);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // host ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  host A <code>Host</code>.
+     * @return its <code>DataLinkLayer</code>.
+     */
+    static Object dataLinkLayer (Object host) {
+
+        try {
+            return (Object)HOST_DATA_LINK_LAYER.invokeExact(host);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // dataLinkLayer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  host A <code>Host</code>.
+     * @param  data The bytes for it to send.
+     */
+    static void send (Object host, byte[] data) {
+
+        try {
+            HOST_SEND.invokeExact(host, (Object)data);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // send ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  host A <code>Host</code>.
+     * @return the bytes that it has received since last asked.
+     */
+    static byte[] retrieve (Object host) {
+
+        try {
+            return (byte[])(Object)HOST_RETRIEVE.invokeExact(host);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // retrieve ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  host A <code>Host</code>, whose thread is to end.
+     */
+    static void stop (Object host) {
+
+        try {
+            HOST_STOP.invokeExact(host);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // stop ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  layer A <code>DataLinkLayer</code>.
+     * @param  data  The bytes to frame, which the layer may modify.
+     * @return the frame.
+     */
+    @SuppressWarnings("unchecked")
+    static Queue<Byte> createFrame (Object layer, Queue<Byte> data) {
+
+        try {
+            return (Queue<Byte>)(Object)CREATE_FRAME.invokeExact(layer, (Object)data);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // createFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  layer A <code>DataLinkLayer</code>.
+     * @return the contents of the next frame in its receive buffer, if any.
+     */
+    @SuppressWarnings("unchecked")
+    static Queue<Byte> processFrame (Object layer) {
+
+        try {
+            return (Queue<Byte>)(Object)PROCESS_FRAME.invokeExact(layer);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // processFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  layer A <code>DataLinkLayer</code>.
+     * @param  frame The bytes for it to transmit.
+     */
+    static void transmit (Object layer, Queue<Byte> frame) {
+
+        try {
+            TRANSMIT.invokeExact(layer, (Object)frame);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  to   A destination address.
+     * @param  from A source address.
+     * @return the header that a frame from <code>from</code> to
+     *         <code>to</code> carries just after its start tag.
+     */
+    static byte[] header (int to, int from) {
+
+        try {
+            return (byte[])(Object)HEADER.invokeExact(to, from);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // header ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  layer A <code>DataLinkLayer</code>, which is to move the bits
+     *               that its physical layer has received into its receive
+     *               buffer.
+     */
+    static void receive (Object layer) {
+
+        try {
+            RECEIVE.invokeExact(layer);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // receive ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  layer A <code>DataLinkLayer</code>.
+     * @return its receive buffer, a <code>ByteRingBuffer</code>.
+     */
+    static Object receiveBuffer (Object layer) {
+
+        try {
+            return (Object)RECEIVE_BUFFER.invokeExact(layer);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // receiveBuffer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  layer A <code>DataLinkLayer</code>.
+     * @return its <code>PhysicalLayer</code>.
+     */
+    static Object physicalLayer (Object layer) {
+
+        try {
+            return (Object)PHYSICAL_LAYER.invokeExact(layer);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // physicalLayer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Find the parity calculation of a data link layer.  It is private to each
+     * layer that has one, so the handle cannot be shared between them.
+     *
+     * @param  layer A <code>DataLinkLayer</code> with a
+     *               <code>calculateParity(Queue)</code> method.
+     * @return a handle of type <code>(Object, Object)byte</code>.
+     */
+    static MethodHandle calculateParity (Object layer) {
+
+        return handle(method(layer.getClass(), "calculateParity", Queue.class));
+
+    } // calculateParity ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  handle A handle from <code>calculateParity()</code>.
+     * @param  layer  The <code>DataLinkLayer</code> to which it belongs.
+     * @param  data   The bytes whose parity to calculate.
+     * @return the parity.
+     */
+    static byte calculateParity (MethodHandle handle, Object layer, Queue<Byte> data) {
+
+        try {
+            return (byte)handle.invokeExact(layer, (Object)data);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // calculateParity ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  buffer A <code>ByteRingBuffer</code>.
+     * @param  data   The bytes to append to it.
+     */
+    static void put (Object buffer, byte[] data) {
+
+        try {
+            BYTE_BUFFER_PUT.invokeExact(buffer, (Object)data);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // put ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  buffer A <code>ByteRingBuffer</code>, to be emptied.
+     */
+    static void clear (Object buffer) {
+
+        try {
+            BYTE_BUFFER_CLEAR.invokeExact(buffer);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // clear ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  medium The <code>Medium</code> to which to connect.
+     * @return a new <code>PhysicalLayer</code>, with no data link layer above
+     *         it.
+     */
+    static Object newPhysicalLayer (Object medium) {
+
+        try {
+            return (Object)PHYSICAL_LAYER_NEW.invokeExact(medium);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // newPhysicalLayer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Hand a block of bits to a physical layer as though its medium had
+     * delivered them.
+     *
+     * @param  physicalLayer A <code>PhysicalLayer</code>.
+     * @param  words         The bits, packed into words.
+     * @param  bitCount      The number of bits.
+     */
+    static void deliver (Object physicalLayer, long[] words, int bitCount) {
+
+        try {
+            PHYSICAL_LAYER_RECEIVE.invokeExact(physicalLayer, (Object)words, bitCount);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // deliver ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  physicalLayer A <code>PhysicalLayer</code>.
+     * @param  sink          An array into which to move the whole bytes that
+     *                       it has received.
+     * @return the number of bytes moved.
+     */
+    static int drainBytes (Object physicalLayer, byte[] sink) {
+
+        try {
+            return (int)PHYSICAL_LAYER_DRAIN_TO.invokeExact(physicalLayer,
+                                                            (Object)sink, 0,
+                                                            sink.length);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // drainBytes ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  medium   A <code>Medium</code>.
+     * @param  sender   The <code>PhysicalLayer</code> sending the bits.
+     * @param  words    The bits, packed into words.
+     * @param  bitCount The number of bits.
+     */
+    static void transmit (Object medium, Object sender, long[] words, int bitCount) {
+
+        try {
+            MEDIUM_TRANSMIT.invokeExact(medium, sender, (Object)words, bitCount);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+    } // transmit ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Stop the layers' diagnostic printing from flooding the benchmark report.
+     * The printing is still done, and so still measured; only its output is
+     * thrown away.
+     *
+     * @return the standard output that was replaced, to be restored later.
+     */
+    static PrintStream silence () {
+
+        PrintStream standard = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        return standard;
+
+    } // silence ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // PRIVATE METHODS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  name The name of a simulator class.
+     * @return the class.
+     */
+    private static Class<?> type (String name) {
+
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("Simulator class " + name + " not found");
+        }
+
+    } // type ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  owner      The class declaring the method.
+     * @param  name       The name of the method.
+     * @param  parameters Its parameter types.
+     * @return the method, made accessible.
+     */
+    private static Method method (Class<?> owner, String name, Class<?>... parameters) {
+
+        try {
+            return accessible(owner.getDeclaredMethod(name, parameters));
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("No method " + owner.getName() + "." + name);
+        }
+
+    } // method ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  owner The class declaring the field.
+     * @param  name  The name of the field.
+     * @return a handle that reads the field.
+     */
+    private static MethodHandle getter (Class<?> owner, String name) {
+
+        try {
+            Field field = accessible(owner.getDeclaredField(name));
+            return erase(MethodHandles.lookup().unreflectGetter(field));
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("No field " + owner.getName() + "." + name);
+        }
+
+    } // getter ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  owner      The class.
+     * @param  parameters The parameter types of its constructor.
+     * @return a handle that calls the constructor.
+     */
+    private static MethodHandle constructor (Class<?> owner, Class<?>... parameters) {
+
+        try {
+            Constructor<?> constructor = accessible(owner.getDeclaredConstructor(parameters));
+            return erase(MethodHandles.lookup().unreflectConstructor(constructor));
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("No constructor for " + owner.getName());
+        }
+
+    } // constructor ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  method A method.
+     * @return a handle that calls it.
+     */
+    private static MethodHandle handle (Method method) {
+
+        try {
+            return erase(MethodHandles.lookup().unreflect(method));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Cannot access " + method);
+        }
+
+    } // handle ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @param  handle A handle.
+     * @return the handle, taking and returning <code>Object</code> in place of
+     *         any simulator class, so that it can be called exactly from here.
+     */
+    private static MethodHandle erase (MethodHandle handle) {
+
+        return handle.asType(handle.type().erase());
+
+    } // erase ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    private static <T extends AccessibleObject> T accessible (T member) {
+
+        member.setAccessible(true);
+
+        return member;
+
+    } // accessible ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    private static RuntimeException rethrow (Throwable t) {
+
+        if (t instanceof RuntimeException) {
+            return (RuntimeException)t;
+        }
+        if (t instanceof Error) {
+            throw (Error)t;
+        }
+
+        return new RuntimeException(t);
+
+    } // rethrow ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    private static final Class<?> MEDIUM           = type("Medium");
+    private static final Class<?> PHYSICAL_LAYER_T = type("PhysicalLayer");
+    private static final Class<?> DATA_LINK_LAYER  = type("DataLinkLayer");
+    private static final Class<?> HOST             = type("Host");
+    private static final Class<?> BYTE_RING_BUFFER = type("ByteRingBuffer");
+    private static final Class<?> FRAME_DECODER    = type("FrameDecoder");
+
+    private static final MethodHandle MEDIUM_CREATE =
+        handle(method(MEDIUM, "create", String.class));
+    private static final MethodHandle MEDIUM_CREATE_CONFIGURED =
+        handle(method(MEDIUM, "create", String.class, Properties.class));
+    private static final MethodHandle MEDIUM_TRANSMIT =
+        handle(method(MEDIUM, "transmit", PHYSICAL_LAYER_T, long[].class, int.class));
+
+    private static final MethodHandle PHYSICAL_LAYER_NEW =
+        constructor(PHYSICAL_LAYER_T, MEDIUM);
+    private static final MethodHandle PHYSICAL_LAYER_RECEIVE =
+        handle(method(PHYSICAL_LAYER_T, "receive", long[].class, int.class));
+    private static final MethodHandle PHYSICAL_LAYER_DRAIN_TO =
+        handle(method(PHYSICAL_LAYER_T, "drainTo", byte[].class, int.class, int.class));
+
+    private static final MethodHandle CREATE_FRAME =
+        handle(method(DATA_LINK_LAYER, "createFrame", Queue.class));
+    private static final MethodHandle PROCESS_FRAME =
+        handle(method(DATA_LINK_LAYER, "processFrame"));
+    private static final MethodHandle TRANSMIT =
+        handle(method(DATA_LINK_LAYER, "transmit", Queue.class));
+    private static final MethodHandle HEADER =
+        handle(method(FRAME_DECODER, "header", int.class, int.class));
+    private static final MethodHandle RECEIVE =
+        handle(method(DATA_LINK_LAYER, "receive"));
+    private static final MethodHandle RECEIVE_BUFFER =
+        getter(DATA_LINK_LAYER, "receiveBuffer");
+    private static final MethodHandle PHYSICAL_LAYER =
+        getter(DATA_LINK_LAYER, "physicalLayer");
+
+    private static final MethodHandle HOST_NEW =
+        constructor(HOST, MEDIUM, String.class, Properties.class);
+    private static final MethodHandle HOST_DATA_LINK_LAYER =
+        getter(HOST, "dataLinkLayer");
+    private static final MethodHandle HOST_SEND =
+        handle(method(HOST, "send", byte[].class));
+    private static final MethodHandle HOST_RETRIEVE =
+        handle(method(HOST, "retrieve"));
+    private static final MethodHandle HOST_STOP =
+        handle(method(HOST, "stop"));
+
+    private static final MethodHandle BYTE_BUFFER_PUT =
+        handle(method(BYTE_RING_BUFFER, "put", byte[].class));
+    private static final MethodHandle BYTE_BUFFER_CLEAR =
+        handle(method(BYTE_RING_BUFFER, "clear"));
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class Stack
+// =============================================================================
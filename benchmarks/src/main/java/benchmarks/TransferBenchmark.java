@@ -0,0 +1,172 @@
+// =============================================================================
+// PACKAGE
+
+package benchmarks;
+// =============================================================================
+
+
+
+// =============================================================================
+// IMPORTS
+
+import java.io.PrintStream;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Sending a payload from one host to another across a perfect medium, with
+ * each host's event loop running in its own thread, as in the simulator.
+ *
+ * @file   TransferBenchmark.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferBenchmark {
+// =============================================================================
+
+
+
+    // =========================================================================
+    // SETUP
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create the hosts and start their threads.
+     */
+    @Setup
+    public void setUp () {
+
+        standardOut = Stack.silence();
+
+        Properties properties = new Properties();
+        properties.setProperty("phy.asyncTransmit", Boolean.toString(asyncTransmit));
+        Object medium = Stack.medium("Perfect");
+        sender   = Stack.host(medium, layer, properties);
+        receiver = Stack.host(medium, layer, properties);
+        new Thread((Runnable)receiver).start();
+        new Thread((Runnable)sender).start();
+
+        data = new byte[payloadSize];
+        new Random(42).nextBytes(data);
+
+    } // setUp ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @TearDown
+    public void tearDown () {
+
+        Stack.stop(receiver);
+        Stack.stop(sender);
+        System.setOut(standardOut);
+
+    } // tearDown ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // BENCHMARKS
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send the payload, and wait until the receiver has all of it.
+     *
+     * @return the number of bytes received.
+     * @throws IllegalStateException if the payload does not arrive in time.
+     */
+    @Benchmark
+    public int transfer () {
+
+        Stack.send(sender, data);
+
+        long deadline = System.nanoTime() + TIMEOUT;
+        int  received = 0;
+        while (received < data.length) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Only " + received + " of " +
+                                                data.length + " bytes arrived");
+            }
+            LockSupport.parkNanos(POLL_INTERVAL);
+            received += Stack.retrieve(receiver).length;
+        }
+
+        return received;
+
+    } // transfer ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The type of data link layer. */
+    @Param({ "Parity", "PAR", "SlidingWindows" })
+    public String layer;
+
+    /** The number of bytes to send. */
+    @Param({ "64", "1024", "16384" })
+    public int payloadSize;
+
+    /** Whether each host sends from a thread of its own. */
+    @Param({ "true", "false" })
+    public boolean asyncTransmit;
+
+    /** The sending host. */
+    private Object sender;
+
+    /** The receiving host. */
+    private Object receiver;
+
+    /** The payload. */
+    private byte[] data;
+
+    /** The standard output, silenced while the benchmark runs. */
+    private PrintStream standardOut;
+
+    /** How long in nanoseconds to wait for the payload to arrive. */
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(60);
+
+    /** How long in nanoseconds to wait between checks for arrivals. */
+    private static final long POLL_INTERVAL = TimeUnit.MICROSECONDS.toNanos(50);
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class TransferBenchmark
+// =============================================================================
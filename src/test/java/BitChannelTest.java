@@ -0,0 +1,150 @@
+// =============================================================================
+// IMPORTS
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A producer waiting for room in a full, bounded channel must give up once
+ * the consumer stops, or once the producer is interrupted, rather than wait
+ * forever.
+ *
+ * @file   BitChannelTest.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class BitChannelTest {
+// =============================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void blockedProducerDropsOnClose () throws InterruptedException {
+
+        BitChannel    channel  = full();
+        AtomicBoolean appended = new AtomicBoolean(true);
+        Thread        producer = new Thread(() ->
+            appended.set(channel.offer(new long[] { -1L }, Long.SIZE)));
+        producer.start();
+        waitUntilBlocked(producer);
+
+        channel.close();
+        producer.join(JOIN_MILLIS);
+
+        assertFalse(producer.isAlive());
+        assertFalse(appended.get());
+
+    } // blockedProducerDropsOnClose ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void blockedProducerDropsOnInterrupt () throws InterruptedException {
+
+        BitChannel    channel     = full();
+        AtomicBoolean appended    = new AtomicBoolean(true);
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+        Thread        producer    = new Thread(() -> {
+            appended.set(channel.offer(new long[] { -1L }, Long.SIZE));
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        producer.start();
+        waitUntilBlocked(producer);
+
+        producer.interrupt();
+        producer.join(JOIN_MILLIS);
+
+        assertFalse(producer.isAlive());
+        assertFalse(appended.get());
+        assertTrue(interrupted.get());
+
+    } // blockedProducerDropsOnInterrupt ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void stoppedLayerReleasesSender () throws InterruptedException {
+
+        Medium        medium   = Medium.create("Perfect", new Properties());
+        PhysicalLayer layer    = new PhysicalLayer(medium, Long.SIZE, true);
+        Thread        sender   = new Thread(() -> {
+            layer.receive(new long[] { -1L }, Long.SIZE);
+            layer.receive(new long[] { -1L }, Long.SIZE);
+        });
+        sender.start();
+        waitUntilBlocked(sender);
+
+        layer.stop();
+        sender.join(JOIN_MILLIS);
+
+        assertFalse(sender.isAlive());
+        byte[] drained = new byte[16];
+        assertEquals(Long.SIZE / Byte.SIZE, layer.drainTo(drained, 0, 16));
+
+    } // stoppedLayerReleasesSender ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * @return a bounded channel of one word, already full.
+     */
+    private static BitChannel full () {
+
+        BitChannel channel = new BitChannel(Long.SIZE, true);
+        assertTrue(channel.offer(new long[] { 0L }, Long.SIZE));
+
+        return channel;
+
+    } // full ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Wait until a thread is parked, as a producer waiting for room is.
+     *
+     * @param thread The thread.
+     */
+    private static void waitUntilBlocked (Thread thread)
+        throws InterruptedException {
+
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(thread.isAlive());
+            Thread.sleep(1);
+        }
+
+    } // waitUntilBlocked ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** How long to wait for a released thread to finish, in milliseconds. */
+    private static final long JOIN_MILLIS = 5_000;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class BitChannelTest
+// =============================================================================
@@ -0,0 +1,103 @@
+// =============================================================================
+// IMPORTS
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Every implementation must give each algorithm's standard check value, and
+ * the same value whether the bytes are checked at once or in pieces.
+ *
+ * @file   CRCTest.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class CRCTest {
+// =============================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void crc16 () {
+
+        assertChecks("CRC16", 0x29B1, "table", "slice8");
+
+    } // crc16 ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void crc32 () {
+
+        assertChecks("CRC32", 0xCBF43926, "table", "slice8", "zip");
+
+    } // crc32 ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void crc32c () {
+
+        assertChecks("CRC32C", 0xE3069283, "table", "slice8", "zip");
+
+    } // crc32c ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Check an algorithm's implementations against its check value, that of
+     * the ASCII digits one to nine, computed at once, after a header, and split
+     * at every point.
+     *
+     * @param algorithm       The name of the algorithm.
+     * @param check           The check value.
+     * @param implementations The names of the implementations.
+     */
+    private static void assertChecks (String    algorithm,
+                                      int       check,
+                                      String... implementations) {
+
+        byte[] digits = "123456789".getBytes(StandardCharsets.US_ASCII);
+        for (String implementation : implementations) {
+            CRC    crc     = CRC.create(algorithm, implementation);
+            String message = algorithm + " " + implementation;
+
+            assertEquals(check, crc.compute(digits, 0, digits.length), message);
+            for (int split = 0; split <= digits.length; split += 1) {
+                byte[] header = new byte[split];
+                System.arraycopy(digits, 0, header, 0, split);
+                assertEquals(check,
+                             crc.compute(header, digits, split,
+                                         digits.length - split),
+                             message + " after a header of " + split);
+
+                int register = crc.update(crc.start(), digits, 0, split);
+                register     = crc.update(register, digits, split,
+                                          digits.length - split);
+                assertEquals(check, crc.finish(register),
+                             message + " split at " + split);
+            }
+        }
+
+    } // assertChecks ()
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class CRCTest
+// =============================================================================
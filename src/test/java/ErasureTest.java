@@ -0,0 +1,77 @@
+// =============================================================================
+// IMPORTS
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * An erasure medium shortens frames, some down to nothing but their header.
+ * PAR must drop those as damaged and go on sending.  Its single parity bit
+ * passes about half of damaged frames, shortened ones included, so what
+ * arrives may be short or wrong, and is not compared with what was sent.
+ *
+ * @file   ErasureTest.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class ErasureTest {
+// =============================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void parSurvivesShortenedFrames () {
+
+        Properties properties = new Properties();
+        properties.setProperty(ErasureMedium.ERASURE_RATE_PROPERTY, "0.02");
+        properties.setProperty(Medium.SEED_PROPERTY, "7");
+        Simulation simulation = new Simulation();
+        Medium     medium     = Medium.create("Erasure", properties);
+        medium.useClock(simulation);
+        Host       sender     = new Host(medium, "PAR", properties);
+        Host       receiver   = new Host(medium, "PAR", properties);
+
+        byte[] data = new byte[2048];
+        for (int i = 0; i < data.length; i += 1) {
+            data[i] = (byte)('a' + i % 26);
+        }
+        sender.send(data);
+
+        // Run until all of the data has arrived, or nothing is left to do.
+        byte[] arrived = new byte[data.length];
+        int    length  = 0;
+        while (length < data.length && simulation.advance(POLL_INTERVAL)) {
+            length += receiver.retrieve(arrived, length, data.length - length);
+        }
+        length += receiver.retrieve(arrived, length, data.length - length);
+        sender.stop();
+        receiver.stop();
+
+        assertTrue(receiver.dataLinkLayer().damagedFrames() > 0);
+        assertTrue(length > 0);
+
+    } // parSurvivesShortenedFrames ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The span of virtual time, in nanoseconds, to run between checks. */
+    private static final long POLL_INTERVAL = 1_000_000;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ErasureTest
+// =============================================================================
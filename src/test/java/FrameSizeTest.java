@@ -0,0 +1,148 @@
+// =============================================================================
+// IMPORTS
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Only layers that acknowledge frames learn their fates, and so may adapt
+ * their frame size; and no layer may be configured for frames larger than it
+ * can frame.
+ *
+ * @file   FrameSizeTest.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class FrameSizeTest {
+// =============================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void oneWayLayersRejectAdaptiveSize () {
+
+        for (String type : new String[] { "Parity", "CRC", "FEC", "CSMACD" }) {
+            assertThrows(RuntimeException.class,
+                         () -> create(type, DataLinkLayer.ADAPTIVE_FRAME_SIZE_PROPERTY,
+                                      "true"),
+                         type);
+        }
+
+    } // oneWayLayersRejectAdaptiveSize ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void acknowledgingLayersAdaptSize () {
+
+        for (String type : new String[] { "PAR", "SlidingWindows", "GoBackN",
+                                          "SelectiveRepeat" }) {
+            DataLinkLayer layer =
+                create(type, DataLinkLayer.ADAPTIVE_FRAME_SIZE_PROPERTY, "true");
+            assertTrue(layer.frameSizer.isAdaptive(), type);
+        }
+
+    } // acknowledgingLayersAdaptSize ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void fecRejectsFramesBeyondItsLengthField () {
+
+        create("FEC", DataLinkLayer.FRAME_SIZE_PROPERTY, "65535");
+        assertThrows(RuntimeException.class,
+                     () -> create("FEC", DataLinkLayer.FRAME_SIZE_PROPERTY,
+                                  "65536"));
+        assertThrows(RuntimeException.class,
+                     () -> create("FEC", DataLinkLayer.MAX_FRAME_SIZE_PROPERTY,
+                                  "65536"));
+
+    } // fecRejectsFramesBeyondItsLengthField ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void parShrinksFramesThatTimeOut () {
+
+        Properties properties = new Properties();
+        properties.setProperty(DataLinkLayer.ADAPTIVE_FRAME_SIZE_PROPERTY, "true");
+        properties.setProperty(DataLinkLayer.FRAME_SIZE_PROPERTY, "64");
+        properties.setProperty(LossyMedium.DROP_RATE_PROPERTY, "0.99");
+        properties.setProperty(LossyMedium.REORDER_RATE_PROPERTY, "0");
+        properties.setProperty(LossyMedium.DUPLICATE_RATE_PROPERTY, "0");
+        Simulation simulation = new Simulation();
+        Medium     medium     = Medium.create("Lossy", properties);
+        medium.useClock(simulation);
+        Host       sender     = new Host(medium, "PAR", properties);
+        Host       receiver   = new Host(medium, "PAR", properties);
+        assertEquals(64, sender.dataLinkLayer().frameSizer.frameSize());
+
+        // Nearly every frame is lost, so nearly every send ends in timeouts.
+        sender.send(new byte[1024]);
+        while (simulation.nanoTime() < RUN_NANOS &&
+               simulation.advance(POLL_INTERVAL)) {
+            receiver.retrieve();
+        }
+        sender.stop();
+        receiver.stop();
+
+        assertTrue(sender.dataLinkLayer().frameSizer.frameSize() < 64);
+
+    } // parShrinksFramesThatTimeOut ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Create a layer of the given type with one setting.
+     *
+     * @param  type  The type of data link layer.
+     * @param  key   The setting's name.
+     * @param  value The setting's value.
+     * @return the layer.
+     */
+    private static DataLinkLayer create (String type, String key, String value) {
+
+        Properties properties = new Properties();
+        properties.setProperty(key, value);
+        Medium medium = Medium.create("Perfect", properties);
+
+        return new Host(medium, type, properties).dataLinkLayer();
+
+    } // create ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The span of virtual time, in nanoseconds, to run between checks. */
+    private static final long POLL_INTERVAL = 1_000_000;
+
+    /** How long to run, in virtual nanoseconds. */
+    private static final long RUN_NANOS     = 20_000_000_000L;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class FrameSizeTest
+// =============================================================================
@@ -0,0 +1,123 @@
+// =============================================================================
+// IMPORTS
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * A layer is idle, so that a batch run may end short of its data without
+ * waiting out its timeout, only once it has nothing left to send and no frame
+ * left unacknowledged.
+ *
+ * @file   IdleTest.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class IdleTest {
+// =============================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void parityIdlesOnceFramed () {
+
+        assertIdlesOnceDelivered("Parity");
+
+    } // parityIdlesOnceFramed ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void parIdlesOnceAcknowledged () {
+
+        assertIdlesOnceDelivered("PAR");
+
+    } // parIdlesOnceAcknowledged ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void slidingWindowsIdlesOnceAcknowledged () {
+
+        assertIdlesOnceDelivered("SlidingWindows");
+
+    } // slidingWindowsIdlesOnceAcknowledged ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void goBackNIdlesOnceAcknowledged () {
+
+        assertIdlesOnceDelivered("GoBackN");
+
+    } // goBackNIdlesOnceAcknowledged ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a little data between two layers of the given type over a perfect
+     * medium, checking that the sender is busy until it has all arrived, and
+     * then idle.
+     *
+     * @param type The type of data link layer.
+     */
+    private static void assertIdlesOnceDelivered (String type) {
+
+        Properties properties = new Properties();
+        Simulation simulation = new Simulation();
+        Medium     medium     = Medium.create("Perfect", properties);
+        medium.useClock(simulation);
+        Host       sender     = new Host(medium, type, properties);
+        Host       receiver   = new Host(medium, type, properties);
+
+        byte[] data = new byte[256];
+        sender.send(data);
+        assertFalse(sender.dataLinkLayer().idle(), type);
+
+        long received = 0;
+        while (simulation.advance(POLL_INTERVAL)) {
+            received += receiver.retrieve().length;
+        }
+        received += receiver.retrieve().length;
+        sender.stop();
+        receiver.stop();
+
+        assertEquals(data.length, received, type);
+        assertTrue(sender.dataLinkLayer().idle(), type);
+        assertTrue(receiver.dataLinkLayer().idle(), type);
+
+    } // assertIdlesOnceDelivered ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The span of virtual time, in nanoseconds, to run between checks. */
+    private static final long POLL_INTERVAL = 1_000_000;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class IdleTest
+// =============================================================================
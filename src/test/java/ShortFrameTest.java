@@ -0,0 +1,107 @@
+// =============================================================================
+// IMPORTS
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Frames too short to hold their own check bytes, as a flipped bit that forges
+ * a stop tag or an erasure can leave them, must be counted as damaged and
+ * dropped rather than crash the layer that decodes them.
+ *
+ * @file   ShortFrameTest.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class ShortFrameTest {
+// =============================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void parityDropsEmptyFrame () {
+
+        assertDropped("Parity", new byte[0]);
+
+    } // parityDropsEmptyFrame ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void parDropsEmptyAndOneByteFrames () {
+
+        assertDropped("PAR", new byte[0]);
+        assertDropped("PAR", new byte[] { 0 });
+
+    } // parDropsEmptyAndOneByteFrames ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void slidingWindowsDropsEmptyAndOneByteFrames () {
+
+        assertDropped("SlidingWindows", new byte[0]);
+        assertDropped("SlidingWindows", new byte[] { 0 });
+
+    } // slidingWindowsDropsEmptyAndOneByteFrames ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void windowedDropsEmptyAndOneByteFrames () {
+
+        assertDropped("GoBackN", new byte[0]);
+        assertDropped("GoBackN", new byte[] { 0 });
+
+    } // windowedDropsEmptyAndOneByteFrames ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Deliver a frame of the given contents to a fresh layer of the given
+     * type, and check that it is dropped as damaged.
+     *
+     * @param type     The type of data link layer.
+     * @param contents The contents of the frame, between its header and its
+     *                 stop tag.
+     */
+    private static void assertDropped (String type, byte[] contents) {
+
+        Properties    properties = new Properties();
+        Medium        medium     = Medium.create("Perfect", properties);
+        Host          host       = new Host(medium, type, properties);
+        DataLinkLayer layer      = host.dataLinkLayer();
+
+        layer.receiveBuffer.put(DataLinkLayer.START_TAG);
+        layer.receiveBuffer.put(FrameDecoder.header(DataLinkLayer.BROADCAST, 1));
+        layer.receiveBuffer.put(contents);
+        layer.receiveBuffer.put(DataLinkLayer.STOP_TAG);
+
+        assertNull(layer.processFrame(), type);
+        assertEquals(1, layer.damagedFrames(), type);
+
+    } // assertDropped ()
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class ShortFrameTest
+// =============================================================================
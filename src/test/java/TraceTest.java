@@ -0,0 +1,123 @@
+// =============================================================================
+// IMPORTS
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+// =============================================================================
+
+
+
+// =============================================================================
+/**
+ * Noisy media must trace the bits that they flip, whether frame by frame or
+ * bit by bit.
+ *
+ * @file   TraceTest.java
+ * @author Matt Kaneb & Chase Yager
+ * @date   October 2026
+ */
+public class TraceTest {
+// =============================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void lowNoiseTracesFlips () {
+
+        assertTracesFlips("LowNoise", Medium.BIT_ERROR_RATE_PROPERTY);
+
+    } // lowNoiseTracesFlips ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void gilbertElliottTracesFlips () {
+
+        assertTracesFlips("GilbertElliott",
+                          GilbertElliottMedium.GOOD_ERROR_RATE_PROPERTY);
+
+    } // gilbertElliottTracesFlips ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @Test
+    public void erasureTracesFlips () {
+
+        assertTracesFlips("Erasure", ErasureMedium.ERASURE_RATE_PROPERTY);
+
+    } // erasureTracesFlips ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    @AfterEach
+    public void stopTracing () {
+
+        Trace.configure(new Properties(), new Simulation());
+
+    } // stopTracing ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    /**
+     * Send a little data over a seeded, noisy medium of the given type, and
+     * check that the trace holds at least one flipped bit.
+     *
+     * @param type     The type of medium.
+     * @param property The property giving the medium's error rate.
+     */
+    private static void assertTracesFlips (String type, String property) {
+
+        Properties properties = new Properties();
+        properties.setProperty(property, "0.01");
+        properties.setProperty(Medium.SEED_PROPERTY, "7");
+        properties.setProperty(Trace.LEVEL_PROPERTY, "detail");
+        Simulation simulation = new Simulation();
+        Medium     medium     = Medium.create(type, properties);
+        medium.useClock(simulation);
+        Trace.configure(properties, simulation);
+        Host       sender     = new Host(medium, "Parity", properties);
+        Host       receiver   = new Host(medium, "Parity", properties);
+
+        sender.send(new byte[1024]);
+        while (simulation.advance(POLL_INTERVAL)) {
+            receiver.retrieve();
+        }
+        sender.stop();
+        receiver.stop();
+
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        Trace.print(new PrintStream(printed, true));
+        assertTrue(printed.toString().contains("flipped bit"), type);
+
+    } // assertTracesFlips ()
+    // =========================================================================
+
+
+
+    // =========================================================================
+    // DATA MEMBERS
+
+    /** The span of virtual time, in nanoseconds, to run between checks. */
+    private static final long POLL_INTERVAL = 1_000_000;
+    // =========================================================================
+
+
+
+// =============================================================================
+} // class TraceTest
+// =============================================================================